@@ -0,0 +1,239 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import io.openliberty.inspect.Catalog;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.ParentCommand;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Command(
+        name = "batch",
+        description = "Run many commands against a single load of the catalog, one command per line, "
+                + "e.g. 'list *servlet*'. Blank lines and lines starting with '#' are ignored, "
+                + "and arguments containing spaces can be quoted."
+)
+public class BatchCommand implements Callable<Integer> {
+    // options that choose or load the catalog, which every line shares, so they belong on the batch command itself
+    private static final Set<String> CATALOG_OPTIONS = Set.of("--directory", "--catalog", "--bundles", "--lazy-bundles",
+            "--verify-bundles", "--stats", "--cache", "--cache-dir");
+
+    @ParentCommand
+    private LibertyExplorer explorer;
+
+    @Parameters(arity = "0..1", description = "file of commands to run (defaults to standard input)")
+    private Path file;
+
+    @Option(names = "--threads",
+            defaultValue = "1",
+            description = "Number of commands to run at once (defaults to ${DEFAULT-VALUE})")
+    private int threads;
+
+    @Option(names = "--output-dir",
+            description = "Write the output of each command to a numbered file in this directory, instead of to standard output")
+    private Path outputDir;
+
+    @Option(names = "--delimiter",
+            defaultValue = "### ",
+            description = "Written with each command before its output on standard output (defaults to '${DEFAULT-VALUE}')")
+    private String delimiter;
+
+    /** The command on one line of the batch, and what it wrote when it ran */
+    private static final class Result {
+        final String command;
+        final int exitCode;
+        final String out;
+        final String err;
+
+        Result(String command, int exitCode, String out, String err) {
+            this.command = command;
+            this.exitCode = exitCode;
+            this.out = out;
+            this.err = err;
+        }
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        if (threads < 1) throw new IllegalArgumentException("The number of threads must be at least 1: " + threads);
+        List<String> commands = readCommands();
+        // load the catalog once, up front, and hand the same one to every command
+        Catalog catalog = explorer.catalog();
+        LibertyExplorer.CatalogLoader loader = (root, includeBundles, lazyBundles, cacheDir) -> catalog;
+        if (null != outputDir) Files.createDirectories(explorer.workingDir().resolve(outputDir));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            var results = new ArrayList<Future<Result>>();
+            for (String command : commands) results.add(pool.submit(() -> execute(loader, command)));
+            int failures = 0;
+            // report the results in the order of the commands, however they were scheduled
+            for (int i = 0; i < results.size(); i++) {
+                Result result = get(results.get(i));
+                if (0 != result.exitCode) failures++;
+                if (null == outputDir) writeToStream(result);
+                else writeToFile(i + 1, commands.size(), result);
+            }
+            if (explorer.verbose) explorer.err().println("Ran " + commands.size() + " commands with " + failures + " failures");
+            return failures == 0 ? 0 : 1;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<String> readCommands() throws IOException {
+        try (var reader = null == file ?
+                new BufferedReader(new InputStreamReader(System.in, UTF_8)) :
+                Files.newBufferedReader(explorer.workingDir().resolve(file), UTF_8)) {
+            var commands = new ArrayList<String>();
+            for (String line = reader.readLine(); null != line; line = reader.readLine()) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                commands.add(line);
+            }
+            return commands;
+        }
+    }
+
+    private Result execute(LibertyExplorer.CatalogLoader loader, String command) {
+        var out = new StringWriter();
+        var err = new StringWriter();
+        var errWriter = new PrintWriter(err);
+        int exitCode;
+        try {
+            var commandLine = new CommandLine(new LibertyExplorer(loader, explorer.workingDir()));
+            commandLine.getCommandSpec().removeSubcommand("daemon");
+            commandLine.getCommandSpec().removeSubcommand("batch");
+            commandLine.setOut(new PrintWriter(out));
+            commandLine.setErr(errWriter);
+            String[] args = arguments(command);
+            var catalogOptions = catalogOptions(commandLine, args);
+            if (catalogOptions.isEmpty()) {
+                exitCode = commandLine.execute(args);
+            } else {
+                errWriter.println("The catalog is loaded once for the whole batch, so " + String.join(", ", catalogOptions)
+                        + " must be given before 'batch' rather than on a line: " + command);
+                exitCode = commandLine.getCommandSpec().exitCodeOnInvalidInput();
+            }
+        } catch (RuntimeException | Error e) {
+            // one failing command should not stop the rest of the batch
+            e.printStackTrace(errWriter);
+            exitCode = 1;
+        }
+        errWriter.flush();
+        return new Result(command, exitCode, out.toString(), err.toString());
+    }
+
+    /** @return the catalog options given on the line, which would otherwise be ignored */
+    private static List<String> catalogOptions(CommandLine commandLine, String[] args) {
+        var result = new ArrayList<String>();
+        try {
+            commandLine.parseArgs(args).matchedOptions().stream()
+                    .map(CommandLine.Model.OptionSpec::longestName)
+                    .filter(CATALOG_OPTIONS::contains)
+                    .forEach(result::add);
+        } catch (CommandLine.ParameterException e) {
+            // executing the line will report the problem
+        }
+        return result;
+    }
+
+    /** @return the global options in force for the batch, followed by the words of the command */
+    private String[] arguments(String command) {
+        var args = new ArrayList<String>();
+        if (explorer.verbose) args.add("--verbose");
+        if (null != explorer.maxPathLength) {
+            args.add("--max-path-length");
+            args.add(explorer.maxPathLength.toString());
+        }
+        args.addAll(split(command));
+        return args.toArray(new String[0]);
+    }
+
+    /** Split a line into words at spaces, except within single or double quotes */
+    private static List<String> split(String line) {
+        var words = new ArrayList<String>();
+        var word = new StringBuilder();
+        boolean inWord = false;
+        char quote = 0;
+        for (char c : line.toCharArray()) {
+            if (0 != quote) {
+                if (c == quote) quote = 0;
+                else word.append(c);
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                inWord = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inWord) words.add(word.toString());
+                word.setLength(0);
+                inWord = false;
+            } else {
+                word.append(c);
+                inWord = true;
+            }
+        }
+        if (0 != quote) throw new IllegalArgumentException("Missing closing quote in command: " + line);
+        if (inWord) words.add(word.toString());
+        return words;
+    }
+
+    private static Result get(Future<Result> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // execute() reports its own failures, so this should never happen
+            throw new Error(e.getCause());
+        }
+    }
+
+    private void writeToStream(Result result) {
+        var out = explorer.out();
+        out.println(delimiter + result.command);
+        out.print(result.out);
+        out.flush();
+        if (!result.err.isEmpty()) {
+            var err = explorer.err();
+            err.println(delimiter + result.command);
+            err.print(result.err);
+            err.flush();
+        }
+    }
+
+    private void writeToFile(int index, int count, Result result) throws IOException {
+        Path dir = explorer.workingDir().resolve(outputDir);
+        // pad the numbers so the files sort in the order of the commands
+        String name = String.format("%0" + String.valueOf(count).length() + "d", index);
+        Files.writeString(dir.resolve(name + ".out"), result.out, UTF_8);
+        if (!result.err.isEmpty()) Files.writeString(dir.resolve(name + ".err"), result.err, UTF_8);
+        if (explorer.verbose) explorer.err().println(name + ": " + result.command + " (exit code " + result.exitCode + ")");
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Watches the directories of a Liberty installation and reports which files have changed.
+ * Changes that arrive close together, such as those made by applying a fix, are reported as one batch.
+ * Directories created inside a watched directory are watched too.
+ */
+final class CatalogWatcher implements Closeable {
+    // how long to wait for further changes before reporting a batch
+    private static final long SETTLE_MILLIS = 200;
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> dirs = new ConcurrentHashMap<>();
+    private final Consumer<Set<Path>> onChange;
+    private final Runnable onOverflow;
+    private final Thread thread;
+
+    /**
+     * Start watching the specified directories.
+     * @param onChange   called with each batch of files that have been added, modified or removed
+     * @param onOverflow called instead when changes may have been missed
+     */
+    CatalogWatcher(Collection<Path> directories, Consumer<Set<Path>> onChange, Runnable onOverflow) throws IOException {
+        this.onChange = onChange;
+        this.onOverflow = onOverflow;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        for (Path dir : directories) register(dir);
+        this.thread = new Thread(this::run, "lx-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void register(Path dir) throws IOException {
+        dirs.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflowed = false;
+                do {
+                    overflowed |= collect(key, changed);
+                } while (null != (key = watchService.poll(SETTLE_MILLIS, MILLISECONDS)));
+                if (overflowed) onOverflow.run();
+                else if (!changed.isEmpty()) onChange.accept(changed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stop watching
+        }
+    }
+
+    /** @return true if events were lost */
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        Path dir = dirs.get(key);
+        boolean overflowed = null == dir;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || null == dir) {
+                overflowed = true;
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerTree(path, changed);
+                } catch (IOException e) {
+                    overflowed = true;
+                }
+            } else {
+                changed.add(path);
+            }
+        }
+        if (!key.reset()) dirs.remove(key);
+        return overflowed;
+    }
+
+    /** Watch a new directory tree, and report anything written to it before it was watched */
+    private void registerTree(Path dir, Set<Path> changed) throws IOException {
+        // register before listing, so that every file is either listed or reported by a later event
+        register(dir);
+        try (Stream<Path> children = Files.list(dir)) {
+            for (Path p : children.collect(Collectors.toList())) {
+                if (Files.isDirectory(p)) registerTree(p, changed);
+                else changed.add(p);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
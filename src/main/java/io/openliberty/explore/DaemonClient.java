@@ -0,0 +1,91 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Sends a command line to a running <code>lx daemon</code> and copies its output back.
+ * This deliberately uses nothing outside the JDK, so that it starts quickly.
+ * If no daemon is listening, the command is run in this process instead.
+ * <p>
+ * The client sends its working directory and its arguments, and the daemon replies
+ * with a sequence of frames, each of which starts with one of the frame types below.
+ * Output frames carry a length and that many bytes; the exit frame carries the exit code.
+ * A command that reads standard input, such as <code>batch</code>, gets a single local frame instead,
+ * telling the client to run the command in this process, where the input is.
+ */
+public final class DaemonClient {
+    static final byte STDOUT = 'O';
+    static final byte STDERR = 'E';
+    static final byte EXIT = 'X';
+    static final byte LOCAL = 'L';
+
+    /** @return the socket named by the <code>LX_SOCKET</code> environment variable, or the default location */
+    static Path socketPath() {
+        String path = System.getenv("LX_SOCKET");
+        return null == path ? Paths.get(System.getProperty("user.home"), ".cache", "lx", "daemon.sock") : Paths.get(path);
+    }
+
+    public static void main(String[] args) throws IOException {
+        final SocketChannel channel;
+        try {
+            channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath()));
+        } catch (IOException e) {
+            LibertyExplorer.main(args);
+            return;
+        }
+        Integer exitCode;
+        try (channel;
+             var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+             var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)))) {
+            out.writeUTF(Paths.get("").toAbsolutePath().toString());
+            out.writeInt(args.length);
+            for (String arg : args) out.writeUTF(arg);
+            out.flush();
+            exitCode = copyOutput(in);
+        }
+        if (null == exitCode) LibertyExplorer.main(args);
+        else System.exit(exitCode);
+    }
+
+    /** @return the exit code of the command, or <code>null</code> if the daemon wants it run here */
+    private static Integer copyOutput(DataInputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (true) {
+            byte type = in.readByte();
+            if (type == EXIT) return in.readInt();
+            if (type == LOCAL) return null;
+            PrintStream stream = type == STDERR ? System.err : System.out;
+            for (int remaining = in.readInt(); remaining > 0; ) {
+                int n = in.read(buffer, 0, Math.min(remaining, buffer.length));
+                if (n < 0) throw new IOException("Connection to lx daemon closed unexpectedly");
+                stream.write(buffer, 0, n);
+                remaining -= n;
+            }
+            stream.flush();
+        }
+    }
+
+    private DaemonClient() {}
+}
@@ -0,0 +1,223 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Command(
+        name = "daemon",
+        description = "Keep catalogs loaded in memory and run the commands sent to it by the lx client"
+)
+public class DaemonCommand implements Callable<Integer> {
+    @ParentCommand
+    private LibertyExplorer explorer;
+
+    @Option(names = "--socket",
+            defaultValue = "${env:LX_SOCKET:-${sys:user.home}/.cache/lx/daemon.sock}",
+            description = "Unix domain socket to listen on (defaults to ${DEFAULT-VALUE})")
+    private Path socket;
+
+    // commands that read standard input, which only the client can see, or write files, which the client should own
+    private static final Set<String> LOCAL_COMMANDS = Set.of("batch", "snapshot");
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private final WarmCatalogs catalogs = new WarmCatalogs();
+
+    @Override
+    public Integer call() throws Exception {
+        var err = explorer.err();
+        if (isListening(socket)) {
+            err.println("An lx daemon is already listening on " + socket);
+            return 1;
+        }
+        // remove the socket file left behind by a daemon that did not shut down cleanly
+        Files.deleteIfExists(socket);
+        ExecutorService handlers = Executors.newCachedThreadPool(DaemonCommand::newHandlerThread);
+        try (var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            bindPrivately(server);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::removeSocket));
+            err.println("Listening on " + socket);
+            err.flush();
+            while (true) {
+                SocketChannel client = server.accept();
+                handlers.execute(() -> serve(client));
+            }
+        } finally {
+            handlers.shutdownNow();
+            removeSocket();
+        }
+    }
+
+    /**
+     * Bind the server to the socket so that only the owner of this process can connect to it.
+     * The socket is bound in a new directory that only the owner can enter, restricted to the owner,
+     * and only then moved into place, so no other user can connect in between.
+     * Directories created for the socket are likewise restricted to the owner.
+     */
+    private void bindPrivately(ServerSocketChannel server) throws IOException {
+        Path dir = socket.toAbsolutePath().getParent();
+        if (!dir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            // there are no POSIX permissions to set, so rely on those the file system gives new files
+            Files.createDirectories(dir);
+            server.bind(UnixDomainSocketAddress.of(socket));
+            return;
+        }
+        Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        Path privateDir = Files.createTempDirectory(dir, ".lx-daemon", PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        try {
+            Path bound = privateDir.resolve(socket.getFileName());
+            server.bind(UnixDomainSocketAddress.of(bound));
+            Files.setPosixFilePermissions(bound, PosixFilePermissions.fromString("rw-------"));
+            Files.move(bound, socket, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(privateDir.resolve(socket.getFileName()));
+            Files.delete(privateDir);
+        }
+    }
+
+    private static boolean isListening(Path socket) {
+        try (var channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            return channel.isConnected();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void removeSocket() {
+        try {
+            Files.deleteIfExists(socket);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static Thread newHandlerThread(Runnable r) {
+        Thread t = new Thread(r, "lx-daemon");
+        t.setDaemon(true);
+        return t;
+    }
+
+    private void serve(SocketChannel client) {
+        try (client;
+             var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(client)));
+             var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(client)))) {
+            Path workingDir = Paths.get(in.readUTF());
+            String[] args = new String[in.readInt()];
+            for (int i = 0; i < args.length; i++) args[i] = in.readUTF();
+            if (readsStandardInput(workingDir, args)) {
+                out.writeByte(DaemonClient.LOCAL);
+                out.flush();
+                return;
+            }
+            var stdout = new PrintWriter(new OutputStreamWriter(new FrameOutputStream(out, DaemonClient.STDOUT), UTF_8));
+            var stderr = new PrintWriter(new OutputStreamWriter(new FrameOutputStream(out, DaemonClient.STDERR), UTF_8));
+            int exitCode = execute(workingDir, args, stdout, stderr);
+            stdout.flush();
+            stderr.flush();
+            synchronized (out) {
+                out.writeByte(DaemonClient.EXIT);
+                out.writeInt(exitCode);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // the client has gone away, so there is nobody to tell
+            if (explorer.verbose) explorer.err().println("Lost connection to client: " + e);
+        }
+    }
+
+    /** @return whether the command line runs a command that must be run by the client instead */
+    private boolean readsStandardInput(Path workingDir, String[] args) {
+        try {
+            var parsed = new CommandLine(new LibertyExplorer(catalogs, workingDir)).parseArgs(args);
+            for (var p = parsed; null != p; p = p.subcommand()) if (LOCAL_COMMANDS.contains(p.commandSpec().name())) return true;
+            return false;
+        } catch (CommandLine.ParameterException e) {
+            // let the command fail in the usual way, wherever it would have run
+            return LOCAL_COMMANDS.contains(e.getCommandLine().getCommandName());
+        }
+    }
+
+    private int execute(Path workingDir, String[] args, PrintWriter stdout, PrintWriter stderr) {
+        try {
+            var commandLine = new CommandLine(new LibertyExplorer(catalogs, workingDir));
+            commandLine.getCommandSpec().removeSubcommand("daemon");
+            LOCAL_COMMANDS.forEach(commandLine.getCommandSpec()::removeSubcommand);
+            commandLine.setOut(stdout);
+            commandLine.setErr(stderr);
+            return commandLine.execute(args);
+        } catch (RuntimeException | Error e) {
+            // report the failure to the client rather than bringing down the daemon
+            e.printStackTrace(stderr);
+            return 1;
+        }
+    }
+
+    /** Writes each chunk of output as a frame, so that standard output and standard error can share a connection */
+    private static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte type;
+
+        FrameOutputStream(DataOutputStream out, byte type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException { write(new byte[] {(byte) b}, 0, 1); }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return;
+            synchronized (out) {
+                out.writeByte(type);
+                out.writeInt(len);
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (out) {
+                out.flush();
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2024 IBM Corporation and others.
+ * Copyright (c) 2024,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -47,18 +47,39 @@ public class ExplainCommand {
                 .forEach(this::explain);
     }
 
+    @Command(name = "unresolved", description = "List the content of features that does not match any installed element")
+    void unresolved(
+            @Parameters(arity = "1..*", description = "one or more glob patterns to match features by name", defaultValue = "*")
+            List<String> patterns
+            ) throws Exception {
+        explorer.init(patterns);
+        explorer.allResults()
+                .stream()
+                .filter(Feature.class::isInstance)
+                .map(Feature.class::cast)
+                .sorted()
+                .forEach(f -> {
+                    var specs = explorer.liberty.unresolvedDependencies(f);
+                    if (specs.isEmpty()) return;
+                    var out = explorer.out();
+                    out.printf("%s includes content that could not be found:%n", f.name());
+                    specs.stream().map(Object::toString).map(BULLET_POINT::concat).forEach(out::println);
+                });
+    }
+
     private static EnumMap<Visibility, String> VIS_DESCS = new EnumMap<>(Visibility.class);
 
     private void explain(Feature f) {
+        var out = explorer.out();
         // Heading
         String name = f.name();
-        System.out.println(name);
-        System.out.println(name.replaceAll(".", "="));
+        out.println(name);
+        out.println(name.replaceAll(".", "="));
         // Feature names
-        System.out.printf("The feature %s is defined by the file: %s%n", f.symbolicName(), f.path());
-        f.shortName().ifPresent(n -> System.out.printf("It is also known by its short name: %s%n", n));
+        out.printf("The feature %s is defined by the file: %s%n", f.symbolicName(), f.path());
+        f.shortName().ifPresent(n -> out.printf("It is also known by its short name: %s%n", n));
         // Describe visibility, auto-ness, and include embedded description
-        System.out.printf(switch (f.visibility()) {
+        out.printf(switch (f.visibility()) {
             case PUBLIC -> "This is a public feature; it can be configured directly in server configuration,"
                     + " or included by Liberty or extension features.%n"
                     + f.description() + "%n";
@@ -70,14 +91,14 @@ public class ExplainCommand {
         });
         boolean hasFeatureDeps = f.hasFeatureDependencies();
         if (hasFeatureDeps) {
-            System.out.println("This feature includes the following features:");
-            f.formatFeatureDependencies().map(BULLET_POINT::concat).forEach(System.out::println);
+            out.println("This feature includes the following features:");
+            f.formatFeatureDependencies().map(BULLET_POINT::concat).forEach(out::println);
         }
         if (f.hasBundleDependencies()) {
-            System.out.println(hasFeatureDeps ? "and the following bundles:" : "This feature includes the following bundles:");
-            f.formatBundleDependencies().map(BULLET_POINT::concat).forEach(System.out::println);
+            out.println(hasFeatureDeps ? "and the following bundles:" : "This feature includes the following bundles:");
+            f.formatBundleDependencies().map(BULLET_POINT::concat).forEach(out::println);
         }
-        System.out.println();
+        out.println();
     }
 
     private String getAutoFeatureRequirementsText(Feature f) {
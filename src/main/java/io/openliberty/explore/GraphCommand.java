@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022,2024 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -50,7 +50,7 @@ public class GraphCommand extends QueryCommand {
         exporter.setVertexAttributeProvider(this::getDotAttributes);
         var writer = new StringWriter();
         exporter.exportGraph(explorer().subgraph(), writer);
-        System.out.println(writer);
+        explorer().out().println(writer);
     }
 
     private static Attribute shape(Element element) {
@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022,2024 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -13,39 +13,41 @@
 package io.openliberty.explore;
 
 
-import static io.openliberty.GraphCollectors.toUnionWith;
-import static io.openliberty.explore.LibertyExplorer.Direction.FORWARD;
-import static io.openliberty.explore.LibertyExplorer.Direction.REVERSE;
+import static io.openliberty.inspect.ElementGraph.Direction.FORWARD;
+import static io.openliberty.inspect.ElementGraph.Direction.REVERSE;
 import static java.util.Collections.emptySet;
-import static java.util.Collections.unmodifiableSet;
 import static java.util.Objects.requireNonNull;
-import static java.util.function.Predicate.not;
 import static java.util.stream.Collectors.toUnmodifiableList;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jgrapht.Graph;
-import org.jgrapht.GraphPath;
-import org.jgrapht.alg.shortestpath.AllDirectedPaths;
-import org.jgrapht.graph.AsGraphUnion;
-import org.jgrapht.graph.AsSubgraph;
 import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.graph.EdgeReversedGraph;
 
 import io.openliberty.inspect.Catalog;
 import io.openliberty.inspect.Element;
+import io.openliberty.inspect.ElementGraph.Direction;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.HelpCommand;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.PropertiesDefaultProvider;
+import picocli.CommandLine.Spec;
 
 @Command(
         name = "lx",
@@ -56,6 +58,9 @@ import picocli.CommandLine.PropertiesDefaultProvider;
                 ListCommand.class,
                 GraphCommand.class,
                 TreeCommand.class,
+                DaemonCommand.class,
+                BatchCommand.class,
+                SnapshotCommand.class,
                 HelpCommand.class},
         defaultValueProvider = PropertiesDefaultProvider.class
 )
@@ -64,18 +69,43 @@ public class LibertyExplorer {
     public static final String INCLUDE_CONTAINED_SUFFIX = "/**";
     private List<String> patterns;
 
+    /** Supplies the explorer with the catalog of a Liberty installation, which might already be loaded. */
+    @FunctionalInterface
+    interface CatalogLoader {
+        Catalog load(Path libertyRoot, boolean includeBundles, boolean lazyBundles, Path cacheDir) throws IOException;
+    }
+
+    private final CatalogLoader loader;
+    // relative paths are resolved against this, which is not this process's directory when running in the daemon
+    private final Path workingDir;
+
     public static void main(String[] args) {
         LibertyExplorer explorer = new LibertyExplorer();
         CommandLine commandLine = new CommandLine(explorer);
         int exitCode = commandLine.execute(args);
+        commandLine.getOut().flush();
         System.exit(exitCode);
     }
 
+    public LibertyExplorer() { this(Catalog::new, Paths.get("")); }
+
+    LibertyExplorer(CatalogLoader loader, Path workingDir) {
+        this.loader = requireNonNull(loader);
+        this.workingDir = requireNonNull(workingDir);
+    }
+
+    @Spec
+    CommandSpec spec;
+
     @Option(names = "--directory",
             defaultValue = ".",
             description = "Liberty root directory (defaults to the working directory)")
     Path libertyRoot;
 
+    @Option(names = "--catalog",
+            description = "Query a catalog image saved by the snapshot command, instead of the Liberty installation")
+    Path catalogImage;
+
     @Option(names = "--verbose",
             description = "Provide more detailed output")
     boolean verbose;
@@ -84,55 +114,167 @@ public class LibertyExplorer {
             description = "Process bundles in the dependency analysis")
     boolean includeBundles;
 
+    @Option(names = "--lazy-bundles",
+            description = "Process bundles, identifying them by their file names and only reading a jar "
+                    + "when its contents are needed (implies --bundles)")
+    boolean lazyBundles;
+
+    @Option(names = "--verify-bundles",
+            description = "With --lazy-bundles, check each bundle's file name against its manifest and report any that disagree")
+    boolean verifyBundles;
+
+    @Option(names = "--stats",
+            description = "Report the size of the catalog and the heap it retains once it is loaded")
+    boolean stats;
+
+    @Option(names = "--cache",
+            negatable = true,
+            defaultValue = "true",
+            fallbackValue = "true",
+            description = "Cache parsed manifests between runs (enabled by default)")
+    boolean useCache;
+
+    @Option(names = "--cache-dir",
+            defaultValue = "${sys:user.home}/.cache/lx",
+            description = "Directory for cached manifest data (defaults to ${DEFAULT-VALUE})")
+    Path cacheDir;
+
+    Integer maxPathLength;
+
+    @Option(names = "--max-path-length",
+            description = "Only interpolate elements that lie on a path of at most this many dependencies between matched elements")
+    void setMaxPathLength(Integer maxPathLength) {
+        if (null != maxPathLength && maxPathLength < 1)
+            throw new ParameterException(spec.commandLine(), "--max-path-length must be at least 1, but was " + maxPathLength);
+        this.maxPathLength = maxPathLength;
+    }
+
+    @Option(names = "--explain-plan",
+            description = "Describe how the exclude patterns were evaluated, and what it cost")
+    boolean explainPlan;
+
     Catalog liberty;
+    // the ids of the elements removed by exclude patterns, which leaves the catalog itself untouched
+    private BitSet excluded;
     private List<Query> queries;
+    // set instead of the queries when the patterns form a boolean expression
+    private QueryExpression expression;
+    private Set<Element> expressionMatches;
     private Set<Element> primaryMatches;
     private Set<Element> interpolatedMatches;
     private Graph<Element, DefaultEdge> subgraph;
+    // closures already computed for these patterns, shared between queries starting from the same elements
+    private Map<List<Object>, Set<Element>> connected;
 
     boolean isPrimary(Element e) { return primaryResults().contains(e); }
 
     void init(List<String> patterns) throws Exception {
-        liberty = new Catalog(libertyRoot, includeBundles);
-        if (verbose) System.err.println("Patterns: " + patterns.stream().collect(Collectors.joining("' '", "'", "'")));
+        catalog();
+        if (verbose) err().println("Patterns: " + patterns.stream().collect(Collectors.joining("' '", "'", "'")));
         this.patterns = patterns;
-        removeExcludedElements();
+        this.queries = null;
+        this.expression = null;
+        this.expressionMatches = null;
+        this.primaryMatches = null;
+        this.interpolatedMatches = null;
+        this.subgraph = null;
+        this.connected = new HashMap<>();
+        if (QueryExpression.isExpression(patterns)) evaluateExpression();
+        else removeExcludedElements();
+    }
+
+    /** @return the catalog of the Liberty installation, loading it if necessary */
+    Catalog catalog() throws IOException {
+        // a loaded catalog is never modified, so it can be reused for another set of patterns
+        if (null == liberty) {
+            long heapBefore = stats ? heapInUse() : 0;
+            liberty = null != catalogImage ? Catalog.open(workingDir.resolve(catalogImage))
+                    : loader.load(workingDir.resolve(libertyRoot), includeBundles, lazyBundles, useCache ? cacheDir : null);
+            if (verifyBundles) liberty.verifyBundles().forEach(err()::println);
+            if (stats) {
+                liberty.stats().forEach(err()::println);
+                long heapAfter = heapInUse();
+                err().println("heap in use: " + heapAfter + " bytes (" + (heapAfter - heapBefore) + " retained by loading the catalog)");
+            }
+        }
+        return liberty;
     }
 
+    /** @return the bytes of heap in use once garbage has been collected, as far as the JVM will say */
+    private static long heapInUse() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    Path workingDir() { return workingDir; }
+
     void init(String...patterns) throws Exception {
         init(Arrays.asList(patterns));
     }
 
     void removeExcludedElements() {
-        // remove excluded features (and associated edges) from graph
-        if (verbose) System.err.println("Exclude patterns:");
-        queries().stream()
+        // mask out excluded features (and associated edges) from the graph,
+        // one pattern at a time, so each pattern only sees what earlier patterns left,
+        // but only where the include patterns could ever reach
+        excluded = new BitSet(liberty.graph().size());
+        var distinct = queries().stream().distinct().collect(toUnmodifiableList());
+        if (verbose) err().println("Exclude patterns:");
+        var excludes = distinct.stream()
                 .filter(Query::isExcludeQuery)
-                .distinct()
-                .peek(q -> {if (verbose) System.err.println("\t" + q);} )
-                .flatMap(Query::allMatches)
-                .distinct()
-                .peek(e -> {if (verbose) System.err.println("Excluding: " + e);})
-                .forEach(liberty::exclude);
+                .peek(q -> {if (verbose) err().println("\t" + q);} )
+                .map(Query::term)
+                .collect(toUnmodifiableList());
+        var includes = distinct.stream()
+                .filter(Query::isIncludeQuery)
+                .map(Query::term)
+                .collect(toUnmodifiableList());
+        var plan = new QueryPlan(liberty, includes, excludes);
+        if (explainPlan) plan.explain(err());
+        excluded = plan.excluded();
+        if (verbose) liberty.graph().elements(excluded).forEach(e -> err().println("Excluding: " + e));
     }
 
-    private Set<Element> findConnectedEdges(Set<Element> features, Direction direction) {
-        // start with the initial set of features
-        var results = new HashSet<>(features);
-        var deps = unmodifiableSet(results);
-        var graph = direction == FORWARD ? liberty.dependencyGraph() : new EdgeReversedGraph<>(liberty.dependencyGraph());
-        while (!deps.isEmpty()) {
-            deps = deps.stream()
-                    // find the next level dependencies
-                    .map(graph::outgoingEdgesOf)
-                    .flatMap(Set::stream)
-                    .map(graph::getEdgeTarget)
-                    // filter out any that we already know about
-                    .filter(not(results::contains))
-                    .collect(toUnmodifiableSet());
-            results.addAll(deps);
+    private void evaluateExpression() {
+        expression = QueryExpression.parse(patterns);
+        if (verbose) err().println("Query expression: " + expression);
+        var graph = liberty.graph();
+        // evaluate every pattern against the whole catalog
+        excluded = new BitSet(graph.size());
+        var selection = expression.evaluate(this::evaluatePattern, graph.size());
+        primaryMatches = graph.elements(selection.primary).collect(toUnmodifiableSet());
+        expressionMatches = graph.elements(selection.all).collect(toUnmodifiableSet());
+        // keep interpolation within the selected elements
+        excluded = (BitSet) selection.all.clone();
+        excluded.flip(0, graph.size());
+    }
+
+    private QueryExpression.Selection evaluatePattern(String pattern) {
+        var query = new Query(pattern);
+        if (verbose) err().println("\t" + (query.isExcludeQuery() ? "!" : "") + query);
+        var graph = liberty.graph();
+        var all = graph.ids(query.allMatches());
+        if (query.isExcludeQuery()) {
+            // treat '!pattern' as 'NOT pattern'
+            all.flip(0, graph.size());
+            return new QueryExpression.Selection(all, new BitSet());
         }
-        return unmodifiableSet(results);
+        return new QueryExpression.Selection(all, graph.ids(query.initialMatches().stream()));
+    }
+
+    /** @return where command output should be written, which might not be this process's standard output */
+    PrintWriter out() { return spec.commandLine().getOut(); }
+
+    PrintWriter err() { return spec.commandLine().getErr(); }
+
+    private boolean isPresent(Element e) { return !excluded.get(liberty.graph().id(e)); }
+
+    private Set<Element> findConnectedEdges(Set<Element> features, Direction direction) {
+        // traverse the compact graph, starting with the initial set of features
+        var graph = liberty.graph();
+        var from = graph.ids(features.stream());
+        return connected.computeIfAbsent(List.of(from, direction, excluded), k ->
+                graph.elements(liberty.reachable(from, direction, excluded)).collect(toUnmodifiableSet()));
     }
 
     private List<Query> queries() {
@@ -144,10 +286,10 @@ public class LibertyExplorer {
     Set<Element> primaryResults() {
         if (null == primaryMatches) {
             // find the initial set of elements (not including deps)
-            if (verbose) System.err.println("Include patterns:");
+            if (verbose) err().println("Include patterns:");
             primaryMatches = queries().stream()
                     .filter(Query::isIncludeQuery)
-                    .peek(q -> {if (verbose) System.err.println("\t" + q);})
+                    .peek(q -> {if (verbose) err().println("\t" + q);})
                     .distinct()
                     .map(Query::initialMatches)
                     .flatMap(Set::stream)
@@ -157,6 +299,7 @@ public class LibertyExplorer {
     }
 
     Set<Element> allResults() {
+        if (null != expression) return expressionMatches;
         return queries().stream()
                 .filter(Query::isIncludeQuery)
                 .distinct()
@@ -165,35 +308,45 @@ public class LibertyExplorer {
     }
 
     Set<Element> interpolatedResults() {
-        if (null == interpolatedMatches) interpolatedMatches = new AllDirectedPaths<>(liberty.dependencyGraph())
-                .getAllPaths(primaryResults(), primaryResults(), true, null)
-                .stream()
-                .map(GraphPath::getVertexList)
-                .flatMap(List::stream)
-                .collect(toUnmodifiableSet());
+        if (null == interpolatedMatches) {
+            // find everything on a path between primary matches without enumerating the paths
+            var graph = liberty.graph();
+            var primaries = graph.ids(primaryResults().stream());
+            var between = null == maxPathLength ?
+                    liberty.between(primaries, excluded) :
+                    liberty.between(primaries, excluded, maxPathLength);
+            interpolatedMatches = graph.elements(between).collect(toUnmodifiableSet());
+        }
         return interpolatedMatches;
     }
 
     Graph<Element, DefaultEdge> subgraph() {
+        var graph = liberty.graph();
+        if (null == subgraph && null != expression) {
+            // everything selected, with all the dependencies between them
+            subgraph = Stream.of(graph.ids(expressionMatches.stream())).collect(graph.toGraph());
+        }
         if (null == subgraph) {
-            subgraph = new AsSubgraph<>(liberty.dependencyGraph(), interpolatedResults());
-            subgraph = queries().stream()
+            var interpolated = graph.ids(interpolatedResults().stream());
+            var included = queries().stream()
                     .filter(Query::isIncludeQuery)
-                    .peek(q -> {if (verbose) System.err.println("\t" + q);})
+                    .peek(q -> {if (verbose) err().println("\t" + q);})
                     .distinct()
-                    .map(Query::subgraph)
-                    .collect(toUnionWith(subgraph));
+                    .flatMap(Query::subgraphs)
+                    .collect(toUnmodifiableList());
+            // the queries share cached results, so only the union of their subgraphs is collected in parallel;
+            // only the vertices of the result are copied into the graph the commands use
+            subgraph = Stream.concat(Stream.of(interpolated), included.stream()).parallel().collect(graph.toGraph());
         }
         return subgraph;
     }
 
-    enum Direction {FORWARD, REVERSE}
-
     private class Query {
         private final boolean isExcludeQuery;
         private final boolean includeContained;
         private final boolean includeContainedBy;
         private final String pattern;
+        private BitSet matches;
         private Set<Element> initialMatches;
         private Set<Element> contained;
         private Set<Element> containedBy;
@@ -211,23 +364,48 @@ public class LibertyExplorer {
         boolean isExcludeQuery() { return isExcludeQuery; }
         boolean isIncludeQuery() { return !isExcludeQuery; }
 
+        /** @return the ids of the elements matching the pattern, whether or not they are excluded */
+        BitSet matches() {
+            if (null == matches) matches = liberty.select(this.pattern);
+            return matches;
+        }
+
         Set<Element> initialMatches() {
-            if (null == initialMatches) initialMatches = liberty.findMatches(this.pattern).collect(toUnmodifiableSet());
+            if (null == initialMatches) initialMatches = liberty.graph().elements(matches())
+                    .filter(LibertyExplorer.this::isPresent)
+                    .collect(toUnmodifiableSet());
             return initialMatches;
         }
 
+        QueryPlan.Term term() {
+            return new QueryPlan.Term((isExcludeQuery ? "!" : "") + this, matches(), includeContained, includeContainedBy);
+        }
+
         Stream<Element> allMatches() {
             return Stream.of(initialMatches(), contained(), containedBy())
                     .flatMap(Set::stream);
         }
 
-        Graph<Element, DefaultEdge> subgraph() {
-            return new AsGraphUnion<>(
-                    new AsSubgraph<>(liberty.dependencyGraph(), contained()),
-                    new AsSubgraph<>(liberty.dependencyGraph(), containedBy())
-            );
+        /** @return the ids of the vertices of each subgraph this query contributes to the results */
+        Stream<BitSet> subgraphs() {
+            var graph = liberty.graph();
+            return Stream.of(graph.ids(contained().stream()), graph.ids(containedBy().stream()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Query)) return false;
+            Query that = (Query) o;
+            return isExcludeQuery == that.isExcludeQuery
+                    && includeContained == that.includeContained
+                    && includeContainedBy == that.includeContainedBy
+                    && pattern.equals(that.pattern);
         }
 
+        @Override
+        public int hashCode() { return Objects.hash(isExcludeQuery, includeContained, includeContainedBy, pattern); }
+
         @Override
         public String toString() {
             return (includeContainedBy ? "**/" : "") + pattern + (includeContained ? "/**" : "");
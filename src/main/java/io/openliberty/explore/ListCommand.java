@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,6 @@ public class ListCommand extends QueryCommand {
     ListCommand() { super(DisplayOption.normal, true);}
 
     void execute() {
-        explorer().allResults().stream().map(this::displayName).sorted().forEach(System.out::println);
+        explorer().allResults().stream().sorted(displayOrder()).map(this::displayName).forEach(explorer().out()::println);
     }
 }
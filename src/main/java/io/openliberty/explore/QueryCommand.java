@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -13,11 +13,14 @@
 package io.openliberty.explore;
 
 import io.openliberty.inspect.Bundle;
+import io.openliberty.inspect.Catalog;
+import io.openliberty.inspect.DisplayNames;
 import io.openliberty.inspect.Element;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 import picocli.CommandLine.ParentCommand;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
@@ -25,8 +28,12 @@ import java.util.function.Function;
 abstract class QueryCommand implements Callable<Integer> {
     @ParentCommand
     private LibertyExplorer explorer;
-    @Parameters(arity = "1..*", description = "one or more glob patterns to match features by name")
+    @Parameters(arity = "1..*", description = "one or more glob patterns to match features by name, "
+            + "optionally combined with predicates using '&', e.g. '*servlet*&vis:public&version>=4.0'. "
+            + "Predicates: vis:<visibility>, auto:<true|false>, type:<feature|bundle>, version<op><version>, api-package:<glob>. "
+            + "Patterns can also be combined with AND, OR, NOT and parentheses, e.g. '(webProfile-10.0/** AND NOT microProfile-6.0/**) OR *jdbc*'")
     private List<String> patterns;
+    private DisplayNames names;
 
     QueryCommand(DisplayOption defaultDisplay, boolean defaultScope) {
         display = defaultDisplay;
@@ -36,6 +43,7 @@ abstract class QueryCommand implements Callable<Integer> {
     @Override
     public final Integer call() throws Exception {
         explorer.init(patterns);
+        names = display.names(explorer.catalog());
         execute();
         return 0;
     }
@@ -51,11 +59,16 @@ abstract class QueryCommand implements Callable<Integer> {
         symbolic(Element::symbolicName),
         path(Element::pathName),
         file(Element::fileName),
-        full(Element::name)
+        full(Element::name),
+        // 'short' is a keyword, so this constant is named differently from the option value
+        abbreviated(null) {
+            DisplayNames names(Catalog catalog) { return catalog.shortNames(); }
+            public String toString() { return "short"; }
+        }
         ;
         final Function<Element, String> fun;
         DisplayOption(Function<Element, String> fun) { this.fun = fun; }
-        String getName(Element e) { return fun.apply(e); }
+        DisplayNames names(Catalog catalog) { return catalog.displayNames(fun); }
     }
 
     @Option(names = "--display", description = "Control how elements are displayed: ${COMPLETION-CANDIDATES}")
@@ -82,12 +95,23 @@ abstract class QueryCommand implements Callable<Integer> {
         }
     }
 
+    /** Move the last scope marker in the line, e.g. <code>[+] </code>, to the start of the line */
     String moveScopeToStartOfString(String line) {
-        return line.replaceFirst("^(.*)(\\[[-ab+=?]\\] )", "$2$1");
+        for (int i = line.length() - 4; i > 0; i--) {
+            if (line.charAt(i) == '[' && line.charAt(i + 2) == ']' && line.charAt(i + 3) == ' ' && "-ab+=?".indexOf(line.charAt(i + 1)) >= 0)
+                return line.substring(i, i + 4) + line.substring(0, i) + line.substring(i + 4);
+        }
+        return line;
     }
 
-
     String displayName(Element e) {
-        return prefix(e) + display.getName(e);
+        return prefix(e) + names.name(e);
+    }
+
+    /** @return the order in which {@link #displayName(Element)} would sort the elements */
+    Comparator<Element> displayOrder() {
+        // every scope prefix is the same length, so the prefix decides the order before the name does
+        Comparator<Element> byName = names.order();
+        return scope ? Comparator.comparing(this::prefix).thenComparing(byName) : byName;
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A boolean combination of patterns, e.g. <code>(webProfile-10.0/** AND NOT microProfile-6.0/**) OR **&#47;com.ibm.ws.kernel*</code>.
+ * <code>NOT</code> binds tightest, then <code>AND</code>, then <code>OR</code>, and parentheses group as usual.
+ * The operators must be in upper case, and separated from the patterns by spaces.
+ * Each pattern is evaluated to a set of element ids, and the operators combine the sets.
+ */
+final class QueryExpression {
+    private static final String AND = "AND";
+    private static final String OR = "OR";
+    private static final String NOT = "NOT";
+    private static final String OPEN = "(";
+    private static final String CLOSE = ")";
+
+    /** The elements selected by (part of) an expression, and which of those matched a pattern directly */
+    static final class Selection {
+        final BitSet all;
+        final BitSet primary;
+
+        Selection(BitSet all, BitSet primary) {
+            this.all = all;
+            this.primary = primary;
+            primary.and(all);
+        }
+    }
+
+    private interface Node {
+        Selection evaluate(Function<String, Selection> operands, int size);
+    }
+
+    private final String text;
+    private final Node root;
+
+    private QueryExpression(String text, Node root) {
+        this.text = text;
+        this.root = root;
+    }
+
+    /** @return whether the arguments use any of the expression operators */
+    static boolean isExpression(List<String> args) {
+        return tokenize(String.join(" ", args)).stream().anyMatch(QueryExpression::isOperator);
+    }
+
+    static QueryExpression parse(List<String> args) {
+        String text = String.join(" ", args);
+        return new QueryExpression(text, new Parser(text, tokenize(text)).parse());
+    }
+
+    /**
+     * @param operands evaluates a single pattern
+     * @param size     the number of elements in the catalog, for taking complements
+     */
+    Selection evaluate(Function<String, Selection> operands, int size) { return root.evaluate(operands, size); }
+
+    @Override
+    public String toString() { return text; }
+
+    private static boolean isOperator(String token) {
+        switch (token) {
+            case AND: case OR: case NOT: case OPEN: case CLOSE: return true;
+            default: return false;
+        }
+    }
+
+    /**
+     * Split the text into words, with parentheses at either end of a word as separate tokens.
+     * A closing parenthesis that ends a version range, as in <code>name@[1.0,2.0)</code>, stays in the word.
+     */
+    private static List<String> tokenize(String text) {
+        var tokens = new ArrayList<String>();
+        for (String word : text.trim().split("\\s+")) {
+            if (word.isEmpty()) continue;
+            int start = 0;
+            while (start < word.length() && word.charAt(start) == '(') {
+                tokens.add(OPEN);
+                start++;
+            }
+            int end = word.length();
+            int opens = 0, closes = 0;
+            for (int i = start; i < end; i++) {
+                char c = word.charAt(i);
+                if (c == '(' || c == '[') opens++;
+                else if (c == ')' || c == ']') closes++;
+            }
+            int trailing = 0;
+            while (end > start && word.charAt(end - 1) == ')' && closes > opens) {
+                end--;
+                closes--;
+                trailing++;
+            }
+            if (end > start) tokens.add(word.substring(start, end));
+            for (int i = 0; i < trailing; i++) tokens.add(CLOSE);
+        }
+        return tokens;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private final List<String> tokens;
+        private int pos;
+
+        Parser(String text, List<String> tokens) {
+            this.text = text;
+            this.tokens = tokens;
+        }
+
+        Node parse() {
+            Node node = parseOr();
+            if (pos < tokens.size()) throw error("Unexpected '" + tokens.get(pos) + "'");
+            return node;
+        }
+
+        private Node parseOr() {
+            Node left = parseAnd();
+            while (accept(OR)) {
+                Node l = left, r = parseAnd();
+                left = (operands, size) -> {
+                    Selection a = l.evaluate(operands, size), b = r.evaluate(operands, size);
+                    a.all.or(b.all);
+                    a.primary.or(b.primary);
+                    return a;
+                };
+            }
+            return left;
+        }
+
+        private Node parseAnd() {
+            Node left = parseNot();
+            while (accept(AND)) {
+                Node l = left, r = parseNot();
+                left = (operands, size) -> {
+                    Selection a = l.evaluate(operands, size), b = r.evaluate(operands, size);
+                    a.all.and(b.all);
+                    a.primary.or(b.primary);
+                    return new Selection(a.all, a.primary);
+                };
+            }
+            return left;
+        }
+
+        private Node parseNot() {
+            if (accept(NOT)) {
+                Node operand = parseNot();
+                return (operands, size) -> {
+                    BitSet all = operand.evaluate(operands, size).all;
+                    all.flip(0, size);
+                    return new Selection(all, new BitSet());
+                };
+            }
+            if (accept(OPEN)) {
+                Node node = parseOr();
+                if (!accept(CLOSE)) throw error("Missing ')'");
+                return node;
+            }
+            if (pos >= tokens.size()) throw error("Missing pattern at end");
+            String pattern = tokens.get(pos);
+            if (isOperator(pattern)) throw error("Expected a pattern but found '" + pattern + "'");
+            pos++;
+            return (operands, size) -> operands.apply(pattern);
+        }
+
+        private boolean accept(String operator) {
+            if (pos < tokens.size() && tokens.get(pos).equals(operator)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private IllegalArgumentException error(String problem) {
+            return new IllegalArgumentException(problem + " at token " + (pos + 1) + " of query expression: " + text);
+        }
+    }
+}
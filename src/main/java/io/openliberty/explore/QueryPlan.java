@@ -0,0 +1,157 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import io.openliberty.inspect.Catalog;
+import io.openliberty.inspect.ElementGraph.Direction;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+import static io.openliberty.inspect.ElementGraph.Direction.FORWARD;
+import static io.openliberty.inspect.ElementGraph.Direction.REVERSE;
+
+/**
+ * Works out which elements the exclude patterns remove, traversing as little of the graph as possible.
+ * <p>
+ * The include patterns are considered first. Their matches, everything those matches could reach,
+ * and everything between them, form a frontier outside which no exclusion can change the result.
+ * An exclude pattern is skipped if nothing it could remove meets the frontier or a later exclusion that does.
+ * The rest are applied in order, each one seeing what earlier ones removed. A memoized closure is used when
+ * it contains nothing already removed, and otherwise a search that steps around the removed elements.
+ */
+final class QueryPlan {
+    /** What the planner needs to know about a pattern */
+    static final class Term {
+        final String text;
+        final BitSet matches;
+        final boolean forward;
+        final boolean reverse;
+
+        /**
+         * @param matches the ids of the elements matching the pattern itself
+         * @param forward whether the pattern also selects everything the matches contain
+         * @param reverse whether the pattern also selects everything containing the matches
+         */
+        Term(String text, BitSet matches, boolean forward, boolean reverse) {
+            this.text = text;
+            this.matches = matches;
+            this.forward = forward;
+            this.reverse = reverse;
+        }
+    }
+
+    private final Catalog catalog;
+    private final int size;
+    private final int includeCount;
+    private final BitSet frontier;
+    private final BitSet excluded;
+    private final List<String> steps = new ArrayList<>();
+    private int skipped;
+    private long visited;
+
+    QueryPlan(Catalog catalog, List<Term> includes, List<Term> excludes) {
+        this.catalog = catalog;
+        this.size = catalog.graph().size();
+        this.includeCount = includes.size();
+        this.frontier = findFrontier(includes);
+        // walk backwards to find which exclusions can affect the frontier, directly or by masking a later one
+        boolean[] needed = new boolean[excludes.size()];
+        BitSet relevant = (BitSet) frontier.clone();
+        for (int i = excludes.size() - 1; i >= 0; i--) {
+            BitSet bound = closure(excludes.get(i), excludes.get(i).matches);
+            needed[i] = bound.intersects(relevant);
+            if (needed[i]) relevant.or(bound);
+        }
+        BitSet removed = new BitSet(size);
+        for (int i = 0; i < excludes.size(); i++) {
+            Term term = excludes.get(i);
+            if (needed[i]) removed.or(apply(term, removed));
+            else skip(term);
+        }
+        // only the elements within the frontier need to be masked
+        removed.and(frontier);
+        this.excluded = removed;
+    }
+
+    /** @return the ids of the elements to treat as absent when evaluating the include patterns */
+    BitSet excluded() { return excluded; }
+
+    void explain(PrintWriter out) {
+        out.println("Query plan:");
+        out.println("  frontier: " + frontier.cardinality() + " of " + size + " elements, from " + includeCount + " include patterns");
+        steps.forEach(out::println);
+        out.println("  mask: " + excluded.cardinality() + " elements excluded within the frontier");
+        out.println("  cost: at most " + visited + " elements searched, " + skipped + " of " + steps.size() + " exclusions skipped");
+    }
+
+    private BitSet findFrontier(List<Term> includes) {
+        BitSet result = new BitSet(size);
+        BitSet matches = new BitSet(size);
+        for (Term term : includes) {
+            matches.or(term.matches);
+            result.or(closure(term, term.matches));
+        }
+        // interpolation can add anything on a path between two matches
+        BitSet between = catalog.reachable(matches, FORWARD);
+        between.and(catalog.reachable(matches, REVERSE));
+        result.or(between);
+        return result;
+    }
+
+    /** @return everything the term selects from the specified matches if nothing is excluded */
+    private BitSet closure(Term term, BitSet matches) {
+        BitSet result = (BitSet) matches.clone();
+        if (term.forward) result.or(catalog.reachable(matches, FORWARD));
+        if (term.reverse) result.or(catalog.reachable(matches, REVERSE));
+        return result;
+    }
+
+    private void skip(Term term) {
+        skipped++;
+        steps.add("  " + (steps.size() + 1) + ". " + term.text + ": skipped, cannot affect the frontier");
+    }
+
+    /** @return the ids of the elements the exclusion removes, given those already removed */
+    private BitSet apply(Term term, BitSet removed) {
+        BitSet start = (BitSet) term.matches.clone();
+        start.andNot(removed);
+        BitSet result = (BitSet) start.clone();
+        var strategy = new StringBuilder();
+        for (Direction direction : directions(term)) {
+            BitSet closure = catalog.reachable(start, direction);
+            if (closure.intersects(removed)) {
+                // the search can visit no more than the closure it replaces
+                visited += closure.cardinality();
+                closure = catalog.reachable(start, direction, removed);
+                strategy.append(", ").append(direction.name().toLowerCase(Locale.ROOT)).append(" masked search");
+            } else {
+                strategy.append(", ").append(direction.name().toLowerCase(Locale.ROOT)).append(" memoized closure");
+            }
+            result.or(closure);
+        }
+        steps.add("  " + (steps.size() + 1) + ". " + term.text + ": " + start.cardinality() + " matches"
+                + strategy + ", " + result.cardinality() + " elements removed");
+        return result;
+    }
+
+    private static List<Direction> directions(Term term) {
+        var result = new ArrayList<Direction>(2);
+        if (term.forward) result.add(FORWARD);
+        if (term.reverse) result.add(REVERSE);
+        return result;
+    }
+}
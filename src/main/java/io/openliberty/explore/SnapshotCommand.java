@@ -0,0 +1,50 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import io.openliberty.inspect.Catalog;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+@Command(
+        name = "snapshot",
+        description = "Save the catalog as an image that other commands can query with --catalog, "
+                + "without reading the Liberty installation again"
+)
+public class SnapshotCommand implements Callable<Integer> {
+    @ParentCommand
+    private LibertyExplorer explorer;
+
+    @Option(names = "--out",
+            required = true,
+            description = "File to write the catalog image to, e.g. wlp.lxc")
+    private Path out;
+
+    @Option(names = "--closures",
+            description = "Also save the transitive closure of every element, so queries need not compute them")
+    private boolean includeClosures;
+
+    @Override
+    public Integer call() throws Exception {
+        Catalog catalog = explorer.catalog();
+        Path file = explorer.workingDir().resolve(out);
+        catalog.snapshot(file, includeClosures);
+        if (explorer.verbose) explorer.err().println("Wrote " + catalog.graph().size() + " elements to " + file + " (" + Files.size(file) + " bytes)");
+        return 0;
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -96,6 +96,6 @@ public class TreeCommand extends QueryCommand {
         String render = TEXT_TREE.render(root);
         Stream.of(render.split(System.lineSeparator()))
                 .map(this::moveScopeToStartOfString)
-                .forEach(System.out::println);
+                .forEach(explorer().out()::println);
     }
 }
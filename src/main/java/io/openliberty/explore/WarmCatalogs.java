@@ -0,0 +1,66 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import io.openliberty.inspect.Catalog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the catalog of each Liberty installation loaded, so that later queries can reuse it.
+ * The installation is watched, and files that are added, changed or removed are applied to
+ * the loaded catalog as they happen, so queries see the changes without a full reload.
+ */
+final class WarmCatalogs implements LibertyExplorer.CatalogLoader {
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    @Override
+    public Catalog load(Path libertyRoot, boolean includeBundles, boolean lazyBundles, Path cacheDir) throws IOException {
+        Path root = libertyRoot.toAbsolutePath().normalize();
+        String key = root + (lazyBundles ? " +lazy-bundles" : includeBundles ? " +bundles" : "");
+        return slots.computeIfAbsent(key, k -> new Slot()).get(root, includeBundles, lazyBundles, cacheDir);
+    }
+
+    /** Each installation is loaded at most once at a time, without blocking queries against other installations. */
+    private static final class Slot {
+        private Catalog catalog;
+        private CatalogWatcher watcher;
+
+        synchronized Catalog get(Path root, boolean includeBundles, boolean lazyBundles, Path cacheDir) throws IOException {
+            if (null == catalog) {
+                // start watching first so that changes made during loading are not missed
+                if (null != watcher) watcher.close();
+                watcher = new CatalogWatcher(Catalog.sourceDirectories(root), this::update, this::invalidate);
+                catalog = new Catalog(root, includeBundles, lazyBundles, cacheDir);
+            }
+            return catalog;
+        }
+
+        private synchronized void update(Set<Path> changedFiles) {
+            if (null == catalog) return;
+            try {
+                // queries already running keep using the old catalog
+                catalog = catalog.update(changedFiles);
+            } catch (RuntimeException | Error e) {
+                // e.g. a jar that is still being written: load everything again when next asked
+                invalidate();
+            }
+        }
+
+        private synchronized void invalidate() { catalog = null; }
+    }
+}
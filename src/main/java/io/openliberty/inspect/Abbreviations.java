@@ -0,0 +1,142 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Gives each of a set of names the shortest abbreviation that no other name shares,
+ * e.g. <code>ws kernel</code> for <code>com.ibm.ws.kernel.boot_1.0.10</code> if no other name starts with <code>com.ibm.ws.kernel</code>.
+ * <p>
+ * Well-known package prefixes are first replaced with a word, e.g. <code>com.ibm.ws.</code> with <code>ws </code>.
+ * An abbreviation is then the shortest prefix of the name, ending at a separator, that starts no more names than the whole name.
+ * A separator is an underscore, or a dot that is not between two digits, or that follows two numbers (as in <code>1.0.10</code>),
+ * so that version numbers are split only after the minor version.
+ * <p>
+ * The names are put in a trie that counts, at each node, how many names pass through it,
+ * after which each name's abbreviation is found by walking down its own path,
+ * so the whole set takes time proportional to the total length of the names.
+ */
+final class Abbreviations {
+    private static final String[][] PREFIXES = {
+            {"com.ibm.websphere.appserver.", "appserver "},
+            {"com.ibm.websphere.appclient.", "appclient "},
+            {"com.ibm.websphere.", "websphere "},
+            {"com.ibm.ws.", "ws "},
+            {"io.openliberty.", "ol "},
+    };
+
+    // the trie, as parallel arrays indexed by node, with node 0 the root
+    private char[] label = new char[1024];
+    private int[] firstChild = new int[1024];
+    private int[] nextSibling = new int[1024];
+    // the number of names at or below each node
+    private int[] count = new int[1024];
+    private int size = 1;
+
+    private Abbreviations() {}
+
+    /** @return the abbreviation of each of the names, which may include duplicates */
+    static Map<String, String> of(Collection<String> names) {
+        // shorten the well-known prefixes, unless that would make two names the same
+        var keys = new HashMap<String, String>();
+        var claimed = new HashMap<String, Integer>();
+        for (String name : new HashSet<>(names)) {
+            String key = shorten(name);
+            keys.put(name, key);
+            claimed.merge(key, 1, Integer::sum);
+        }
+        keys.replaceAll((name, key) -> claimed.get(key) > 1 ? name : key);
+        var trie = new Abbreviations();
+        keys.values().forEach(trie::insert);
+        var result = new HashMap<String, String>(keys.size() * 2);
+        keys.forEach((name, key) -> result.put(name, trie.abbreviate(key)));
+        return result;
+    }
+
+    private static String shorten(String name) {
+        for (String[] prefix : PREFIXES) {
+            if (!name.startsWith(prefix[0])) continue;
+            String rest = name.substring(prefix[0].length());
+            // the packages of third-party code, e.g. ws org.apache.aries.util becomes ws apache aries.util
+            if (prefix[1].equals("ws ") || prefix[1].equals("ol ")) {
+                int dot = rest.indexOf('.', 4);
+                if (dot > 4 && (rest.startsWith("com.") || rest.startsWith("org.") || rest.startsWith("net.")))
+                    rest = rest.substring(4, dot) + ' ' + rest.substring(dot + 1);
+            }
+            return prefix[1] + rest;
+        }
+        return name;
+    }
+
+    private void insert(String key) {
+        int node = 0;
+        count[node]++;
+        for (int i = 0; i < key.length(); i++) {
+            node = addChild(node, key.charAt(i));
+            count[node]++;
+        }
+    }
+
+    /** @return the child of the node with the specified label, or 0 if there is none */
+    private int child(int node, char c) {
+        for (int child = firstChild[node]; child != 0; child = nextSibling[child]) if (label[child] == c) return child;
+        return 0;
+    }
+
+    private int addChild(int node, char c) {
+        int child = child(node, c);
+        if (0 != child) return child;
+        if (size == label.length) {
+            label = Arrays.copyOf(label, size * 2);
+            firstChild = Arrays.copyOf(firstChild, size * 2);
+            nextSibling = Arrays.copyOf(nextSibling, size * 2);
+            count = Arrays.copyOf(count, size * 2);
+        }
+        child = size++;
+        label[child] = c;
+        nextSibling[child] = firstChild[node];
+        firstChild[node] = child;
+        return child;
+    }
+
+    /** @return the shortest prefix of the key ending at a separator that starts as few names as the key itself */
+    private String abbreviate(String key) {
+        // first find how many names start with the whole key
+        int node = 0;
+        for (int i = 0; i < key.length(); i++) node = child(node, key.charAt(i));
+        final int own = count[node];
+        node = 0;
+        for (int i = 0; i < key.length(); i++) {
+            if (count[node] == own && isSeparator(key, i)) return key.substring(0, i);
+            node = child(node, key.charAt(i));
+        }
+        return key;
+    }
+
+    private static boolean isSeparator(String s, int i) {
+        char c = s.charAt(i);
+        if (c == '_') return true;
+        if (c != '.') return false;
+        boolean digitBefore = i > 0 && isDigit(s.charAt(i - 1));
+        boolean digitAfter = i + 1 < s.length() && isDigit(s.charAt(i + 1));
+        boolean afterTwoNumbers = i > 2 && digitBefore && s.charAt(i - 2) == '.' && isDigit(s.charAt(i - 3));
+        return !digitBefore || !digitAfter || afterTwoNumbers;
+    }
+
+    private static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
+}
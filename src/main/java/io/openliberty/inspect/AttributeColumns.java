@@ -0,0 +1,146 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
+import org.osgi.framework.Version;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The attributes of every element in an {@link ElementGraph}, held in arrays indexed by element id,
+ * so that attribute predicates can be evaluated without visiting the elements themselves.
+ * <p>
+ * The predicates understood are:
+ * <ul>
+ *     <li><code>vis:public</code>, <code>vis:protected</code>, <code>vis:private</code> or <code>vis:unknown</code></li>
+ *     <li><code>auto:true</code> or <code>auto:false</code></li>
+ *     <li><code>type:feature</code> or <code>type:bundle</code></li>
+ *     <li><code>version</code> followed by one of <code>= != &lt; &lt;= &gt; &gt;=</code> and a version, e.g. <code>version&gt;=4.0</code></li>
+ *     <li><code>api-package:</code> followed by a glob matching the name of a package the element provides as API</li>
+ * </ul>
+ */
+final class AttributeColumns {
+    private static final Pattern KEYED = Pattern.compile("(vis|auto|type|api-package):(.*)");
+    private static final Pattern VERSION = Pattern.compile("version\\s*(=|!=|<=?|>=?)\\s*(\\d.*)");
+    private static final Visibility[] VISIBILITIES = Visibility.values();
+
+    private final int size;
+    private final byte[] visibility;
+    private final BitSet auto;
+    private final BitSet bundles;
+    private final Version[] versions;
+    private final ElementGraph graph;
+    private final NameIndex apiPackages;
+
+    AttributeColumns(ElementGraph graph) {
+        this.graph = graph;
+        this.size = graph.size();
+        this.visibility = new byte[size];
+        this.auto = new BitSet(size);
+        this.bundles = new BitSet(size);
+        this.versions = new Version[size];
+        MultiValuedMap<String, Element> packages = new HashSetValuedHashMap<>();
+        for (int id = 0; id < size; id++) {
+            Element e = graph.element(id);
+            visibility[id] = (byte) e.visibility().ordinal();
+            auto.set(id, e.isAutoFeature());
+            bundles.set(id, e instanceof Bundle);
+            versions[id] = e.version();
+            e.apiPackages().map(p -> p.toLowerCase(Locale.ROOT)).forEach(p -> packages.put(p, e));
+        }
+        this.apiPackages = new NameIndex(packages);
+    }
+
+    /** @return the ids of the elements satisfying the predicate, or nothing if the term is not a predicate */
+    Optional<BitSet> select(String term) {
+        Matcher m = KEYED.matcher(term);
+        if (m.matches()) {
+            String value = m.group(2).trim();
+            switch (m.group(1)) {
+                case "vis":
+                    final byte ordinal = (byte) parseVisibility(term, value).ordinal();
+                    return Optional.of(where(id -> visibility[id] == ordinal));
+                case "auto": return Optional.of(parseBoolean(term, value) ? copy(auto) : complement(auto));
+                case "type": return Optional.of(parseType(term, value));
+                case "api-package": return Optional.of(graph.ids(apiPackages.find(NamePattern.compile(value))));
+            }
+        }
+        m = VERSION.matcher(term);
+        if (m.matches()) return Optional.of(compareVersions(term, m.group(1), m.group(2).trim()));
+        return Optional.empty();
+    }
+
+    private BitSet where(IntPredicate predicate) {
+        BitSet result = new BitSet(size);
+        for (int id = 0; id < size; id++) if (predicate.test(id)) result.set(id);
+        return result;
+    }
+
+    private static BitSet copy(BitSet bits) { return (BitSet) bits.clone(); }
+
+    private BitSet complement(BitSet bits) {
+        BitSet result = copy(bits);
+        result.flip(0, size);
+        return result;
+    }
+
+    private static Visibility parseVisibility(String term, String value) {
+        return Arrays.stream(VISIBILITIES)
+                .filter(v -> v.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown visibility '" + value + "' in predicate: " + term));
+    }
+
+    private static boolean parseBoolean(String term, String value) {
+        switch (value) {
+            case "true": return true;
+            case "false": return false;
+            default: throw new IllegalArgumentException("Expected 'true' or 'false' in predicate: " + term);
+        }
+    }
+
+    private BitSet parseType(String term, String value) {
+        switch (value) {
+            case "bundle": return copy(bundles);
+            case "feature": return complement(bundles);
+            default: throw new IllegalArgumentException("Expected 'feature' or 'bundle' in predicate: " + term);
+        }
+    }
+
+    private BitSet compareVersions(String term, String operator, String value) {
+        final Version v;
+        try {
+            v = Version.parseVersion(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid version '" + value + "' in predicate: " + term, e);
+        }
+        final IntPredicate test;
+        switch (operator) {
+            case "=": test = cmp -> cmp == 0; break;
+            case "!=": test = cmp -> cmp != 0; break;
+            case "<": test = cmp -> cmp < 0; break;
+            case "<=": test = cmp -> cmp <= 0; break;
+            case ">": test = cmp -> cmp > 0; break;
+            default: test = cmp -> cmp >= 0; break;
+        }
+        return where(id -> test.test(versions[id].compareTo(v)));
+    }
+}
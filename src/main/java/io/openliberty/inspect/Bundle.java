@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -15,11 +15,8 @@ package io.openliberty.inspect;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.jar.Attributes;
-import java.util.jar.JarFile;
-import java.util.jar.Manifest;
 import java.util.stream.Stream;
 
-import static org.osgi.framework.Constants.BUNDLE_NAME;
 import static org.osgi.framework.Constants.BUNDLE_SYMBOLICNAME;
 import static org.osgi.framework.Constants.BUNDLE_VERSION;
 import org.osgi.framework.Version;
@@ -27,37 +24,70 @@ import org.osgi.framework.Version;
 public final class Bundle implements Element {
     private static class InvalidBundleException extends Exception {}
 
+    private static final String BUNDLE_DESCRIPTION = "Bundle-Description";
+    private static final String[] HEADERS = {BUNDLE_SYMBOLICNAME, BUNDLE_VERSION, BUNDLE_DESCRIPTION};
+
+    // retain only what is needed, not the jar or its manifest
     private final Path path;
-    private final JarFile jar;
-    private final Manifest manifest;
-    private final Attributes attributes;
     private final String symbolicName;
-    private final String name;
     private final Version version;
+    // a stub knows only what its file name says, and reads its manifest when something else is needed
+    private final boolean isStub;
+    private volatile boolean manifestRead;
+    private String description;
 
     static Bundle parse(Path path) {
+        return parse(path, readAttributes(path));
+    }
+
+    static Bundle parse(Path path, Attributes attributes) {
         try {
-            return new Bundle(path);
+            return new Bundle(path, attributes);
         } catch (InvalidBundleException e) {
             return null;
         }
     }
 
-    Bundle(Path path) throws InvalidBundleException {
+    /**
+     * Read just the manifest headers this class needs from a jar.
+     * Jars without a manifest yield an empty set of attributes.
+     */
+    static Attributes readAttributes(Path path) {
+        Attributes result = new Attributes();
+        JarManifests.readMainAttributes(path).ifPresent(attributes -> {
+            for (String header : HEADERS) {
+                String value = attributes.getValue(header);
+                if (null != value) result.putValue(header, value);
+            }
+        });
+        return result;
+    }
+
+    Bundle(Path path, Attributes attributes) throws InvalidBundleException {
         this.path = path;
         try {
-            this.jar = new JarFile(path.toFile());
-            this.manifest = jar.getManifest();
-            this.attributes = manifest.getMainAttributes();
             this.symbolicName = attributes.getValue(BUNDLE_SYMBOLICNAME).replaceFirst(";.*","");
-            this.name = attributes.getValue(BUNDLE_NAME);
+            this.description = attributes.getValue(BUNDLE_DESCRIPTION);
             this.version = Version.parseVersion(attributes.getValue(BUNDLE_VERSION));
         } catch (Exception e) {
             // probably just a jar since it doesn't have bundle metadata
             throw new InvalidBundleException();
         }
+        this.isStub = false;
+        this.manifestRead = true;
     }
 
+    /** Create a stub from the symbolic name and version in the file name, without opening the jar */
+    Bundle(Path path, String symbolicName, Version version) {
+        this.path = path;
+        this.symbolicName = symbolicName;
+        this.version = version;
+        this.isStub = true;
+    }
+
+    /** @return whether this bundle was created from its file name rather than its manifest */
+    boolean isStub() { return isStub; }
+
     @Override
     public Path path() { return path; }
     @Override
@@ -66,13 +96,19 @@ public final class Bundle implements Element {
     public String name() { return symbolicName() + "_" + version; }
     @Override
     public String description() {
-        String description = manifest.getMainAttributes().getValue("Bundle-Description");
+        if (!manifestRead) readManifest();
         if (description != null) {
             return description;
         }
         return "No Description found";
     }
 
+    private synchronized void readManifest() {
+        if (manifestRead) return;
+        description = readAttributes(path).getValue(BUNDLE_DESCRIPTION);
+        manifestRead = true;
+    }
+
     @Override
     public Version version() { return version; }
     @Override
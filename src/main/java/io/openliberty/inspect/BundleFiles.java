@@ -0,0 +1,102 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.osgi.framework.Version;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The bundle jars of a Liberty installation, identified by the symbolic name and version in their file names.
+ * Liberty names its bundles <code>symbolicName_version.jar</code>, so a {@link Bundle} stub can be made
+ * for each jar from a directory listing, without opening any of them.
+ * A jar is ambiguous if it is named any other way, or if another jar claims the same name and version,
+ * and only its manifest can say what it really holds.
+ */
+final class BundleFiles {
+    private static final Pattern CONVENTIONAL_NAME = Pattern.compile("(.+)_(\\d+(?:\\.\\d+){0,2}(?:\\.[\\w-]+)?)\\.jar");
+
+    private final Set<Path> jars;
+    // the stub for each jar whose file name says unambiguously what it holds
+    private final Map<Path, Bundle> stubs = new TreeMap<>();
+
+    BundleFiles(Collection<Path> jars) {
+        this.jars = new TreeSet<>(jars);
+        var claimed = new HashMap<Path, Bundle>();
+        var claims = new HashMap<String, Integer>();
+        for (Path jar : this.jars) {
+            Bundle stub = stub(jar);
+            if (null == stub) continue;
+            claimed.put(jar, stub);
+            claims.merge(stub.name(), 1, Integer::sum);
+        }
+        claimed.forEach((jar, stub) -> {
+            if (1 == claims.get(stub.name())) stubs.put(jar, stub);
+        });
+    }
+
+    /** @return a stub for the bundle the file name claims the jar holds, or <code>null</code> if it does not follow the convention */
+    static Bundle stub(Path jar) {
+        Matcher m = CONVENTIONAL_NAME.matcher(jar.getFileName().toString());
+        if (!m.matches()) return null;
+        try {
+            return new Bundle(jar, m.group(1), Version.parseVersion(m.group(2)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** @return the stub for the jar, or <code>null</code> if only its manifest can say what it holds */
+    Bundle stubFor(Path jar) { return stubs.get(jar); }
+
+    /** @return the jars that must be opened to find out what they hold */
+    List<Path> ambiguous() { return jars.stream().filter(j -> !stubs.containsKey(j)).collect(Collectors.toUnmodifiableList()); }
+
+    /** @return stubs for all the other jars */
+    Stream<Bundle> stubs() { return stubs.values().stream(); }
+
+    /**
+     * @param changedFiles files that have been added, modified or deleted
+     * @param isJar        whether a changed file is a bundle jar that now exists
+     * @return the jars after the changes
+     */
+    BundleFiles update(Collection<Path> changedFiles, Predicate<Path> isJar) {
+        var result = new TreeSet<>(jars);
+        result.removeAll(changedFiles);
+        changedFiles.stream().filter(isJar).forEach(result::add);
+        return new BundleFiles(result);
+    }
+
+    /**
+     * A jar becomes ambiguous, or stops being so, when another jar starts or stops claiming the same name and version,
+     * so it must be loaded again even though it has not changed itself.
+     * @return the jars present both here and in the previous files that are ambiguous in only one of them
+     */
+    Stream<Path> reclassified(BundleFiles previous) {
+        return jars.stream()
+                .filter(previous.jars::contains)
+                .filter(j -> stubs.containsKey(j) != previous.stubs.containsKey(j));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.osgi.framework.Version;
+import org.osgi.framework.VersionRange;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.osgi.framework.VersionRange.LEFT_CLOSED;
+import static org.osgi.framework.VersionRange.RIGHT_CLOSED;
+
+/**
+ * Every installed version of each bundle, ordered by version,
+ * so that version ranges can be looked up rather than scanned for.
+ */
+final class BundleIndex {
+    private final Map<String, NavigableMap<Version, Bundle>> versions = new HashMap<>();
+
+    void add(Bundle bundle) {
+        // keep the first one found if the same bundle version is installed twice
+        versions.computeIfAbsent(bundle.symbolicName(), k -> new TreeMap<>()).putIfAbsent(bundle.version(), bundle);
+    }
+
+    /** @return the highest version of the named bundle that lies within the range */
+    Optional<Bundle> highest(String symbolicName, VersionRange range) {
+        return Optional.ofNullable(versions.get(symbolicName))
+                .map(m -> within(m, range))
+                .map(NavigableMap::lastEntry)
+                .map(Map.Entry::getValue);
+    }
+
+    /** @return every bundle whose symbolic name is accepted by the filter and whose version lies within the range */
+    Stream<Bundle> find(Predicate<String> symbolicNameFilter, VersionRange range) {
+        return versions.entrySet().stream()
+                .filter(e -> symbolicNameFilter.test(e.getKey()))
+                .map(Map.Entry::getValue)
+                .map(m -> within(m, range))
+                .flatMap(m -> m.values().stream());
+    }
+
+    private static NavigableMap<Version, Bundle> within(NavigableMap<Version, Bundle> map, VersionRange range) {
+        if (range.isEmpty()) return Collections.emptyNavigableMap();
+        boolean leftClosed = range.getLeftType() == LEFT_CLOSED;
+        if (null == range.getRight()) return map.tailMap(range.getLeft(), leftClosed);
+        return map.subMap(range.getLeft(), leftClosed, range.getRight(), range.getRightType() == RIGHT_CLOSED);
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -13,33 +13,37 @@
 
 package io.openliberty.inspect;
 
+import io.openliberty.inspect.ElementGraph.Direction;
+import io.openliberty.inspect.feature.BundleSpec;
+import io.openliberty.inspect.feature.ContentSpec;
 import io.openliberty.inspect.feature.Feature;
 
-import org.apache.commons.collections4.Bag;
 import org.apache.commons.collections4.MultiValuedMap;
-import org.apache.commons.collections4.Trie;
-import org.apache.commons.collections4.bag.HashBag;
+import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
 import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
-import org.apache.commons.collections4.trie.PatriciaTrie;
-import org.jgrapht.Graph;
-import org.jgrapht.graph.AsUnmodifiableGraph;
-import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.graph.SimpleDirectedGraph;
+import org.osgi.framework.VersionRange;
 
 import java.io.IOException;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -49,165 +53,469 @@ import static java.nio.file.Files.isDirectory;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * The features and bundles of a Liberty installation, and the dependencies between them.
+ * A catalog does not change once loaded, so it can be shared between queries and threads.
+ * Queries that need to ignore some elements pass them in as a mask of element ids.
+ */
 public class Catalog {
-    public static SimpleDirectedGraph<Element, DefaultEdge> newGraph() {
-        return new SimpleDirectedGraph<>(DefaultEdge.class);
-    }
+    // manifest parsing is mostly waiting on I/O, so use more threads than there are cores
+    private static final int PARSER_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    // bundles before features, each in path order, which is the order the elements were always added in
+    private static final Comparator<Path> SOURCE_ORDER = Comparator.<Path, Boolean>comparing(p -> p.toString().endsWith(".mf"))
+            .thenComparing(Comparator.naturalOrder());
 
-    private final Map<String, Element> elements = new HashMap<>();
-    // Wrap (downcased) feature names and shortnames as Path objects
-    // to allow use of java.nio.file.FileSystem's built-in glob matching
-    private final MultiValuedMap<Path, Element> index = new HashSetValuedHashMap<>();
-    private final SimpleDirectedGraph<Element, DefaultEdge> dependencies = newGraph();
+    private final Path libertyRoot;
+    // the element parsed from each file
+    private final SortedMap<Path, Element> sources = new TreeMap<>(SOURCE_ORDER);
+    // all the elements with each symbolic name, e.g. every installed version of a bundle
+    private final MultiValuedMap<String, Element> elements = new ArrayListValuedHashMap<>();
+    // all the (downcased) names and short names of the elements, and the index built from them for pattern matching
+    private final MultiValuedMap<String, Element> names = new HashSetValuedHashMap<>();
+    private final NameIndex nameIndex;
+    private final BundleIndex bundles = new BundleIndex();
+    private final ElementGraph dependencies;
+    private final AttributeColumns columns;
+    private Reachability closures;
+    // dependencies that could not be matched to any element
+    private final MultiValuedMap<Element, ContentSpec> unresolved = new ArrayListValuedHashMap<>();
+    // the elements that looked up each symbolic name while resolving their dependencies
+    private final MultiValuedMap<String, Element> dependents = new HashSetValuedHashMap<>();
+    private final boolean includeBundles;
+    // the strings kept by the elements, each held once
+    private final StringPool strings;
+    // the names of the elements for each way of displaying them, computed when first asked for
+    private final Map<Function<? super Element, String>, DisplayNames> displayNames = new ConcurrentHashMap<>();
+    private DisplayNames shortNames;
+    // in lazy mode, the bundle jars, most of which are known only by their file names
+    private final BundleFiles bundleFiles;
+    // a name pattern followed by '@' and a version or version range
+    private static final Pattern VERSIONED_PATTERN = Pattern.compile("(.+)@([\\[(]?\\d.*)");
 
     public Catalog(Path libertyRoot, boolean includeBundles) throws IOException {
+        this(libertyRoot, includeBundles, null);
+    }
+
+    public Catalog(Path libertyRoot, boolean includeBundles, Path cacheDir) throws IOException {
+        this(libertyRoot, includeBundles, false, cacheDir);
+    }
+
+    /**
+     * @param lazyBundles whether to identify bundles by their file names, and only read a jar's manifest when it is needed,
+     *                    instead of parsing every jar in the installation; implies <code>includeBundles</code>
+     * @param cacheDir the directory in which to cache parsed manifests between runs,
+     *                 or <code>null</code> to parse every manifest afresh
+     */
+    public Catalog(Path libertyRoot, boolean includeBundles, boolean lazyBundles, Path cacheDir) throws IOException {
+        this.libertyRoot = libertyRoot;
+        this.includeBundles = includeBundles || lazyBundles;
+        this.strings = new StringPool();
         validate(libertyRoot, "Not a valid directory: ");
         Path libDir = validate(libertyRoot.resolve("lib"), "No lib subdirectory found: ");
         Path devDir = validate(libertyRoot.resolve("dev"), "No dev subdirectory found: ");
-        // parse bundles
-        if (includeBundles) Stream.concat(Files.walk(devDir),Files.list(libDir))
-                .filter(Files::isRegularFile)
-                .filter(p -> p.toString().endsWith(".jar"))
-                .map(Bundle::parse)
-                .filter(Objects::nonNull)
-                .forEach(this::initElement);
         Path featureDir = validate(libertyRoot.resolve("lib/features"), "No feature subdirectory found: ");
         Path platformDir = validate(libertyRoot.resolve("lib/platform"), "No platform subdirectory found: ");
-        // parse feature manifests
-        Stream.concat(Files.list(platformDir), Files.list(featureDir))
-                .filter(Files::isRegularFile)
-                .filter(p -> p.toString().endsWith(".mf"))
-                .map(Feature::new)
-                .forEach(this::initElement);
-        // add the features to the graph
-        elements.values().forEach(dependencies::addVertex);
-        // add the feature dependencies to the graph
-        elements.values().forEach(this::initDependencies);
+        ManifestCache cache = ManifestCache.load(cacheDir, libertyRoot);
+        ExecutorService parsers = Executors.newFixedThreadPool(PARSER_THREADS, Catalog::newParserThread);
+        try {
+            var jars = this.includeBundles ? list(Files.walk(devDir), Files.list(libDir), ".jar") : List.<Path>of();
+            // a lazy catalog has to parse up front only the jars whose names do not say what they hold
+            this.bundleFiles = lazyBundles ? new BundleFiles(jars) : null;
+            // start parsing bundles and feature manifests concurrently
+            var bundles = parseAll(parsers, lazyBundles ? bundleFiles.ambiguous() : jars,
+                    p -> cache.element(p, Bundle::parse, strings));
+            var features = parseAll(parsers, list(Files.list(platformDir), Files.list(featureDir), ".mf"),
+                    p -> cache.element(p, f -> new Feature(f, strings), strings));
+            // merge the results in path order so the outcome does not depend on thread scheduling
+            Stream.concat(bundles.stream(), features.stream())
+                    .map(Catalog::await)
+                    .filter(Objects::nonNull)
+                    .forEach(e -> sources.put(e.path(), e));
+            if (lazyBundles) bundleFiles.stubs().forEach(b -> sources.put(b.path(), b));
+        } finally {
+            parsers.shutdownNow();
+        }
+        cache.save();
+        sources.values().forEach(this::initElement);
+        nameIndex = new NameIndex(names);
+        // build the graph once everything is loaded
+        dependencies = new ElementGraph(elements.values(), e -> e.findDependencies(resolverFor(e)));
+        columns = new AttributeColumns(dependencies);
+    }
+
+    /**
+     * Create a catalog that reuses the parsed elements and resolved dependencies of a previous one.
+     * Only new elements, and elements that looked up one of the changed symbolic names, are resolved again.
+     */
+    private Catalog(Catalog previous, SortedMap<Path, Element> sources, BundleFiles bundleFiles, Set<Element> added, Set<String> changedNames) {
+        this.libertyRoot = previous.libertyRoot;
+        this.includeBundles = previous.includeBundles;
+        this.strings = previous.strings;
+        this.bundleFiles = bundleFiles;
+        this.sources.putAll(sources);
+        sources.values().forEach(this::initElement);
+        nameIndex = new NameIndex(names);
+        Set<Element> stale = new HashSet<>(added);
+        changedNames.stream().map(previous.dependents::get).forEach(stale::addAll);
+        // carry over what is known about the elements that remain and whose dependencies are unchanged
+        Predicate<Element> unchanged = e -> sources.get(e.path()) == e && !stale.contains(e);
+        previous.dependents.entries().stream()
+                .filter(e -> unchanged.test(e.getValue()))
+                .forEach(e -> dependents.put(e.getKey(), e.getValue()));
+        previous.unresolved.entries().stream()
+                .filter(e -> unchanged.test(e.getKey()))
+                .forEach(e -> unresolved.put(e.getKey(), e.getValue()));
+        final ElementGraph old = previous.dependencies;
+        dependencies = new ElementGraph(elements.values(), e -> stale.contains(e) || old.id(e) < 0 ?
+                e.findDependencies(resolverFor(e)) :
+                old.neighbours(old.id(e), Direction.FORWARD).mapToObj(old::element));
+        columns = new AttributeColumns(dependencies);
+    }
+
+    /** Create a catalog from the parts of one saved in a {@link CatalogImage}, without reading the installation */
+    Catalog(Path libertyRoot, boolean includeBundles, StringPool strings, ElementGraph dependencies,
+            MultiValuedMap<Element, ContentSpec> unresolved, Reachability closures) {
+        this.libertyRoot = libertyRoot;
+        this.includeBundles = includeBundles;
+        this.strings = strings;
+        this.bundleFiles = null;
+        for (int id = 0; id < dependencies.size(); id++) sources.put(dependencies.element(id).path(), dependencies.element(id));
+        sources.values().forEach(this::initElement);
+        nameIndex = new NameIndex(names);
+        this.dependencies = dependencies;
+        this.unresolved.putAll(unresolved);
+        this.closures = closures;
+        columns = new AttributeColumns(dependencies);
+    }
+
+    /** Open a catalog image saved by {@link #snapshot(Path, boolean)}, which needs no Liberty installation. */
+    public static Catalog open(Path image) throws IOException { return CatalogImage.read(image); }
+
+    /**
+     * Save this catalog as an image that can be opened and queried without the installation.
+     * @param includeClosures whether to save the transitive closures too, so they need not be computed again
+     */
+    public void snapshot(Path image, boolean includeClosures) throws IOException { CatalogImage.write(this, image, includeClosures); }
+
+    Path libertyRoot() { return libertyRoot; }
+
+    boolean includesBundles() { return includeBundles; }
+
+    /**
+     * Create a new catalog reflecting changes to some of the files this catalog was loaded from.
+     * Files that have been added or modified are parsed again, and files that no longer exist are forgotten.
+     * This catalog is left unchanged.
+     * @return the new catalog, or this catalog if none of the files are relevant
+     */
+    public Catalog update(Collection<Path> changedFiles) {
+        var newSources = new TreeMap<>(sources);
+        var added = new HashSet<Element>();
+        var changedNames = new HashSet<String>();
+        var newBundleFiles = null == bundleFiles ? null :
+                bundleFiles.update(changedFiles, f -> f.toString().endsWith(".jar") && isSource(f) && Files.isRegularFile(f));
+        var files = new ArrayList<>(changedFiles);
+        if (null != newBundleFiles) newBundleFiles.reclassified(bundleFiles).forEach(files::add);
+        for (Path file : files) {
+            Element old = newSources.remove(file);
+            if (null != old) changedNames.add(old.symbolicName());
+            if (!isSource(file) || !Files.isRegularFile(file)) continue;
+            final Element e;
+            if (file.toString().endsWith(".mf")) e = new Feature(file, strings);
+            else if (null == newBundleFiles || null == newBundleFiles.stubFor(file)) e = Bundle.parse(file);
+            else e = newBundleFiles.stubFor(file);
+            if (null == e) continue;
+            newSources.put(file, e);
+            added.add(e);
+            changedNames.add(e.symbolicName());
+        }
+        if (changedNames.isEmpty()) return this;
+        return new Catalog(this, newSources, newBundleFiles, added, changedNames);
+    }
+
+    /**
+     * Check each bundle that was identified by its file name against the manifest in its jar.
+     * The jars are read in parallel.
+     * @return a description of each jar whose manifest does not agree with its file name
+     */
+    public List<String> verifyBundles() {
+        var stubs = sources.values().stream()
+                .filter(Bundle.class::isInstance)
+                .map(Bundle.class::cast)
+                .filter(Bundle::isStub)
+                .collect(Collectors.toUnmodifiableList());
+        ExecutorService parsers = Executors.newFixedThreadPool(PARSER_THREADS, Catalog::newParserThread);
+        try {
+            return parseAll(parsers, stubs, Catalog::verify).stream()
+                    .map(Catalog::await)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toUnmodifiableList());
+        } finally {
+            parsers.shutdownNow();
+        }
+    }
+
+    private static String verify(Bundle stub) {
+        Bundle bundle = Bundle.parse(stub.path());
+        String claim = stub + ": the file name says " + stub.symbolicName() + " " + stub.version();
+        if (null == bundle) return claim + " but the jar has no bundle manifest";
+        boolean sameVersion = stub.version().getMajor() == bundle.version().getMajor()
+                && stub.version().getMinor() == bundle.version().getMinor()
+                && stub.version().getMicro() == bundle.version().getMicro()
+                // file names usually leave out the qualifier
+                && (stub.version().getQualifier().isEmpty() || stub.version().equals(bundle.version()));
+        if (sameVersion && stub.symbolicName().equals(bundle.symbolicName())) return null;
+        return claim + " but the manifest says " + bundle.symbolicName() + " " + bundle.version();
+    }
+
+    /**
+     * @param namer a function that names an element for display, which must always be the same object for the same naming
+     * @return the name of every element, as given by the function, each computed only once for this catalog
+     */
+    public DisplayNames displayNames(Function<? super Element, String> namer) {
+        return displayNames.computeIfAbsent(namer, f -> new DisplayNames(dependencies, f));
+    }
+
+    /** @return the shortest abbreviation of each element's name that no other element's name shares */
+    public synchronized DisplayNames shortNames() {
+        if (null == shortNames) {
+            String[] names = new String[dependencies.size()];
+            for (int id = 0; id < names.length; id++) names[id] = dependencies.element(id).name();
+            var abbreviations = Abbreviations.of(List.of(names));
+            for (int id = 0; id < names.length; id++) names[id] = abbreviations.get(names[id]);
+            shortNames = new DisplayNames(dependencies, names, Element::name);
+        }
+        return shortNames;
+    }
+
+    /** @return a description of the size of this catalog, one measure per line */
+    public List<String> stats() {
+        long features = sources.values().stream().filter(Feature.class::isInstance).count();
+        long stubs = sources.values().stream().filter(Bundle.class::isInstance).map(Bundle.class::cast).filter(Bundle::isStub).count();
+        return List.of(
+                "elements: " + dependencies.size() + " (" + features + " features, " + (dependencies.size() - features) + " bundles, " + stubs + " not yet read)",
+                "dependencies: " + dependencies.index(Direction.FORWARD)[dependencies.size()] + " (" + unresolved.size() + " unresolved)",
+                "pooled strings: " + strings.size() + " (about " + strings.bytes() + " bytes)",
+                "duplicate strings dropped: " + strings.duplicates() + " (about " + strings.duplicateBytes() + " bytes)");
+    }
+
+    /** @return the existing directories a catalog of the specified installation would be loaded from */
+    public static List<Path> sourceDirectories(Path libertyRoot) throws IOException {
+        Path devDir = libertyRoot.resolve("dev");
+        try (var devDirs = isDirectory(devDir) ? Files.walk(devDir).filter(Files::isDirectory) : Stream.<Path>empty()) {
+            return Stream.concat(Stream.of("lib", "lib/features", "lib/platform").map(libertyRoot::resolve), devDirs)
+                    .filter(Files::isDirectory)
+                    .collect(Collectors.toUnmodifiableList());
+        }
+    }
+
+    /** @return whether the specified file is one this catalog would load an element from */
+    public boolean isSource(Path file) {
+        Path dir = file.getParent();
+        if (null == dir) return false;
+        if (file.toString().endsWith(".mf")) return dir.equals(libertyRoot.resolve("lib/features")) || dir.equals(libertyRoot.resolve("lib/platform"));
+        if (!includeBundles || !file.toString().endsWith(".jar")) return false;
+        return dir.equals(libertyRoot.resolve("lib")) || file.startsWith(libertyRoot.resolve("dev"));
+    }
+
+    /** @return a resolver that records which names the specified element looked up, and which of its dependencies were not found */
+    private Resolver resolverFor(Element dependent) {
+        return new Resolver() {
+            public Collection<Element> candidates(String symbolicName) {
+                dependents.put(symbolicName, dependent);
+                return elements.get(symbolicName);
+            }
+            public Optional<Element> highestVersion(String symbolicName, VersionRange range) {
+                dependents.put(symbolicName, dependent);
+                return bundles.highest(symbolicName, range).map(Element.class::cast);
+            }
+            public void unresolved(Element dependent, ContentSpec spec) {
+                // bundles can only be resolved if they were loaded
+                if (includeBundles || !(spec instanceof BundleSpec)) unresolved.put(dependent, spec);
+            }
+        };
+    }
+
+    private static List<Path> list(Stream<Path> dir1, Stream<Path> dir2, String extension) {
+        try (dir1; dir2) {
+            return Stream.concat(dir1, dir2)
+                    .filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(extension))
+                    .sorted()
+                    .collect(Collectors.toUnmodifiableList());
+        }
+    }
+
+    private static <S, T> List<CompletableFuture<T>> parseAll(ExecutorService parsers, List<S> paths, Function<S, T> parser) {
+        return paths.stream()
+                .map(p -> CompletableFuture.supplyAsync(() -> parser.apply(p), parsers))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // rethrow whatever the parser threw
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    private static Thread newParserThread(Runnable r) {
+        Thread t = new Thread(r, "lx-parser");
+        t.setDaemon(true);
+        return t;
     }
 
     private void initElement(Element e) {
         // add to element map
         elements.put(e.symbolicName(), e);
-        // add to graph
-        dependencies.addVertex(e);
+        if (e instanceof Bundle) bundles.add((Bundle) e);
         // add to index using full name and short name (if present)
         e.allNames()
                 .map(String::toLowerCase)
-                .map(Paths::get)
-                .forEach(k -> index.put(k, e));
-    }
-
-    public static void main(String[] args) throws Exception {
-        NameUtil.prefixes("io.openliberty.jakarta.3.0_1.0.63.jar")
-                .forEach(System.out::println);
-        System.out.println();
-        System.out.println();
-        System.out.println();
-        Path p = Paths.get("/Users/chackoj/wlp/lib");
-        var names = Files.list(p)
-                .filter(Files::isRegularFile)
-                .map(Path::getFileName)
-                .map(Path::toString)
-                .filter(s -> s.endsWith(".jar"))
-                .collect(Collectors.toUnmodifiableSet());
-        NameUtil.shortenNames(names)
-                .entrySet()
-                .stream()
-                .sorted(comparing(Entry::getValue))
-                .forEach(e -> System.out.println(e.getValue()));
-    }
-
-
-    enum NameUtil {
-        ;
-        private static Pattern PREFIX_DELIMITER = Pattern.compile("(?<!\\d)\\.|(?<=\\d\\.\\d)\\.|_|\\.(?!\\d)");
-        private static Stream<String> prefixes(String name) {
-            var m = PREFIX_DELIMITER.matcher(name);
-            var prefixes = new ArrayList<String>();
-            if (m.find()) {
-                prefixes.add(name.substring(0, m.start()));
-                while (m.find(m.end())) {
-                    prefixes.add(name.substring(0, m.start()));
-                }
-            }
-            prefixes.add(name);
-            return prefixes.stream();
+                .forEach(k -> names.put(k, e));
+    }
+
+    private static Path validate(Path path, String errorMessage) {
+        if (isDirectory(path)) return path;
+        throw new Error(errorMessage + path.toFile().getAbsolutePath());
+    }
+
+    /** @return the elements matching the pattern, in their natural order */
+    public Stream<Element> findMatches(String pattern) { return dependencies.elements(select(pattern)); }
+
+    /**
+     * Find the elements matching a pattern made of one or more terms separated by <code>&amp;</code>,
+     * all of which an element must satisfy, e.g. <code>*servlet*&amp;vis:public&amp;version&gt;=4.0</code>.
+     * Each term is a name pattern, a bundle name pattern with a version range after an <code>@</code>,
+     * or an attribute predicate (see {@link AttributeColumns}).
+     * @return the ids of the matching elements
+     */
+    public BitSet select(String pattern) {
+        BitSet result = null;
+        for (String term : terms(requireNonNull(pattern).toLowerCase())) {
+            BitSet matches = selectTerm(term);
+            if (null == result) result = matches;
+            else result.and(matches);
         }
+        // a pattern of nothing but separators has no terms, and matches nothing
+        return null == result ? new BitSet() : result;
+    }
 
-        private static Map<String, String> shortenNames(Set<String> names) {
-            var trie = new PatriciaTrie<String>();
-            names.stream().forEach(name -> {
-                // remove some common prefixes
-                var shorterName = name
-                        .replaceFirst("^com\\.ibm\\.ws\\.", "ws ")
-                        .replaceFirst("^io\\.openliberty\\.", "ol ")
-                        .replaceFirst("^(ws|ol) (com|org|net)\\.([^.]+)\\.", "$1 $3 ")
-                        .replaceFirst("^com\\.ibm\\.websphere\\.(app(server|client)\\.)?", "websphere $1 ");
-                // add the shortened name to a trie
-                var oldName = trie.put(shorterName, name);
-                if (null != oldName) {
-                    // this is a bug that must be fixed in this code - bail out
-                    throw new Error("Initial shortening of " + oldName + " and " + name + " both resulted in " + shorterName);
-                }
-            });
-            var map = new TreeMap<String, String>();
-            trie.forEach((k, v) -> map.put(v, minPrefix(k, trie)));
-
-            // fudge 1: try chomping substrings and check for conflicts
-            var pattern = "apache\\.";
-            var strings = map.values();
-            Bag<String> bag = strings.stream()
-                    .map(s -> s.replaceFirst(pattern, ""))
-                    .collect(HashBag::new, HashBag::add, HashBag::addAll);
-            map.entrySet().stream()
-//                    .filter(e -> e.getValue())
-                    .forEach(e -> {});
-
-
-            return Collections.unmodifiableMap(map);
+    /**
+     * Split a pattern into its terms at each <code>&amp;</code> that belongs to neither a glob's <code>[...]</code>
+     * or <code>{...}</code> nor a regular expression. A <code>regex:</code> term runs to the end of the pattern.
+     * @return the terms that are not blank, trimmed
+     */
+    static List<String> terms(String pattern) {
+        var terms = new ArrayList<String>();
+        int start = 0;
+        while (start <= pattern.length()) {
+            int end = pattern.substring(start).stripLeading().startsWith("regex:") ? pattern.length() : termEnd(pattern, start);
+            String term = pattern.substring(start, end).trim();
+            if (!term.isEmpty()) terms.add(term);
+            start = end + 1;
         }
+        return terms;
+    }
 
-        private static String minPrefix(String key, Trie<String, ?> trie) {
-            var smallestSize = trie.prefixMap(key).size();
-            Predicate<String> isMinimal = s -> trie.prefixMap(s).size() == smallestSize;
-            try {
-                return prefixes(key)
-                        .filter(isMinimal)
-                        .findFirst()
-                        .orElseThrow(Exception::new);
-            } catch (Exception ex) {
-                System.err.println("Failed to find min prefix for " + key);
-                System.err.println(trie.prefixMap(key));
-                ex.printStackTrace();
-                return key;
+    /** @return the index of the separator that ends the term starting at the specified index, or the length of the pattern */
+    private static int termEnd(String pattern, int start) {
+        boolean inClass = false, inRange = false;
+        int groupDepth = 0;
+        for (int i = start; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (inClass) {
+                // as in the JDK, a backslash is an ordinary character in a class, and the first ']' closes it
+                if (c == ']') inClass = false;
+            } else if (inRange) {
+                // the brackets of a version range need not match, and it cannot contain a separator
+                if (c == '&') return i;
+            } else if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '{') {
+                groupDepth++;
+            } else if (c == '}') {
+                if (groupDepth > 0) groupDepth--;
+            } else if (c == '@') {
+                inRange = true;
+            } else if (c == '&' && groupDepth == 0) {
+                return i;
             }
         }
+        return pattern.length();
     }
 
+    private BitSet selectTerm(String term) {
+        var m = VERSIONED_PATTERN.matcher(term);
+        if (m.matches()) return dependencies.ids(findBundles(m.group(1), m.group(2)));
+        return columns.select(term).orElseGet(() -> dependencies.ids(nameIndex.find(NamePattern.compile(term))));
+    }
 
-    private void initDependencies(Element e) {
-        e.findDependencies(elements.values())
-                .forEach(d -> dependencies.addEdge(e, d));
+    /** Find bundles by symbolic name and version range, e.g. <code>com.ibm.ws.kernel*@[1.0,2.0)</code> */
+    private Stream<Element> findBundles(String namePattern, String range) {
+        final VersionRange versionRange;
+        try {
+            versionRange = VersionRange.valueOf(range);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid version range '" + range + "' in pattern: " + namePattern + "@" + range, e);
+        }
+        var matcher = NamePattern.compile(namePattern);
+        return bundles.find(name -> matcher.matches(name.toLowerCase()), versionRange)
+                .map(Element.class::cast);
     }
 
-    private static Path validate(Path path, String errorMessage) {
-        if (isDirectory(path)) return path;
-        throw new Error(errorMessage + path.toFile().getAbsolutePath());
+    /** @return the dependencies of the specified element that do not match any element in this catalog */
+    public Collection<ContentSpec> unresolvedDependencies(Element e) { return unresolved.get(e); }
+
+    public ElementGraph graph() { return dependencies; }
+
+    /** Find every element reachable from the specified elements, including the elements themselves. */
+    public BitSet reachable(BitSet from, Direction direction) { return closures().reachable(from, direction); }
+
+    /**
+     * Find every element reachable from the specified elements without passing through an excluded element.
+     * @param excluded the ids of the elements to ignore, or <code>null</code> to ignore none
+     */
+    public BitSet reachable(BitSet from, Direction direction, BitSet excluded) {
+        if (null == excluded || excluded.isEmpty()) return reachable(from, direction);
+        BitSet start = (BitSet) from.clone();
+        start.andNot(excluded);
+        // the memoized closure is still the answer if it never meets an excluded element
+        BitSet closure = reachable(start, direction);
+        if (!closure.intersects(excluded)) return closure;
+        return dependencies.reachable(start, direction, excluded);
     }
 
-    public Stream<Element> findMatches(String pattern) {
-        pattern = requireNonNull(pattern).toLowerCase();
-        if (!pattern.contains(":")) pattern = "glob:" + pattern;
-        return index.keySet().stream()
-                .filter(FileSystems.getDefault().getPathMatcher(pattern)::matches)
-                .map(index::get)
-                .flatMap(Collection::stream)
-                .filter(dependencies::containsVertex)
-                .sorted()
-                .distinct();
+    /**
+     * Find every element on a dependency path from one of the specified elements to another,
+     * by intersecting what they can reach with what can reach them.
+     * The specified elements are included in the result.
+     */
+    public BitSet between(BitSet ends, BitSet excluded) {
+        BitSet result = reachable(ends, Direction.FORWARD, excluded);
+        result.and(reachable(ends, Direction.REVERSE, excluded));
+        return result;
     }
 
-    public Graph<Element, DefaultEdge> dependencyGraph() { return new AsUnmodifiableGraph<>(dependencies); }
+    /** Find every element on a dependency path of at most the specified length from one of the specified elements to another. */
+    public BitSet between(BitSet ends, BitSet excluded, int maxPathLength) {
+        int[] from = dependencies.distances(ends, Direction.FORWARD, excluded, maxPathLength);
+        int[] to = dependencies.distances(ends, Direction.REVERSE, excluded, maxPathLength);
+        BitSet result = new BitSet(dependencies.size());
+        for (int v = 0; v < from.length; v++) {
+            if (from[v] >= 0 && to[v] >= 0 && from[v] + to[v] <= maxPathLength) result.set(v);
+        }
+        return result;
+    }
 
-    public void exclude(Element excluded) { dependencies.removeVertex(excluded); }
+    synchronized Reachability closures() {
+        if (null == closures) closures = new Reachability(dependencies);
+        return closures;
+    }
 }
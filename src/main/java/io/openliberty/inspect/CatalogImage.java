@@ -0,0 +1,252 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import io.openliberty.inspect.ElementGraph.Direction;
+import io.openliberty.inspect.feature.ContentSpec;
+import io.openliberty.inspect.feature.Feature;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * A binary image of a loaded {@link Catalog}, which can be queried without the Liberty installation it describes.
+ * An image is read by mapping it into memory, and the dependency graph comes straight from it, without resolving anything.
+ * <p>
+ * The layout, with every number big-endian, is:
+ * <ol>
+ *     <li>a header: magic number, format version, flags, and the number of strings</li>
+ *     <li>the string table: the offset of each string and of the end of the last, then the strings in UTF-8;
+ *         each distinct string is stored once and referred to by its index, or by -1 for no string</li>
+ *     <li>the installation directory and the number of elements</li>
+ *     <li>the element table, in element id order: the path of each element, then the element as written by {@link ElementCodec}</li>
+ *     <li>the forward and reverse edges in compressed sparse row form, as held by {@link ElementGraph}</li>
+ *     <li>the unresolved dependencies, as pairs of element id and index into the feature's content</li>
+ *     <li>optionally, the forward and reverse closure of each strongly connected component, as bitsets</li>
+ * </ol>
+ */
+final class CatalogImage {
+    private static final int MAGIC = 0x4c584349; // "LXCI"
+    private static final int FORMAT_VERSION = 3;
+    private static final int HAS_BUNDLES = 1;
+    private static final int HAS_CLOSURES = 2;
+
+    private CatalogImage() {}
+
+    static void write(Catalog catalog, Path file, boolean includeClosures) throws IOException {
+        var strings = new StringTable();
+        var bytes = new ByteArrayOutputStream();
+        var body = new DataOutputStream(bytes);
+        ElementGraph graph = catalog.graph();
+        body.writeInt(strings.intern(catalog.libertyRoot().toString()));
+        body.writeInt(graph.size());
+        ElementCodec.Sink sink = sink(body, strings);
+        for (int id = 0; id < graph.size(); id++) {
+            body.writeInt(strings.intern(graph.element(id).path().toString()));
+            // the description of a feature may be in a properties file, so save what it came to
+            ElementCodec.write(sink, graph.element(id), true);
+        }
+        for (Direction direction : Direction.values()) {
+            writeInts(body, graph.index(direction));
+            writeInts(body, graph.edges(direction));
+        }
+        writeUnresolved(body, catalog);
+        if (includeClosures) writeClosures(body, catalog.closures());
+        body.flush();
+        int flags = (catalog.includesBundles() ? HAS_BUNDLES : 0) | (includeClosures ? HAS_CLOSURES : 0);
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(flags);
+            strings.write(out);
+            bytes.writeTo(out);
+        }
+        Files.move(tmp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    static Catalog read(Path file) throws IOException {
+        final ByteBuffer image;
+        try (var channel = FileChannel.open(file, READ)) {
+            // the mapping stays valid after the channel is closed
+            image = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (image.remaining() < 16 || MAGIC != image.getInt()) throw new Error("Not an lx catalog image: " + file);
+        int version = image.getInt();
+        if (FORMAT_VERSION != version) throw new Error("Unsupported catalog image format " + version + " (expected " + FORMAT_VERSION + "): " + file);
+        int flags = image.getInt();
+        var strings = new MappedStrings(image);
+        Path libertyRoot = Paths.get(strings.get(image.getInt()));
+        int n = image.getInt();
+        var elements = new ArrayList<Element>(n);
+        ElementCodec.Source source = source(image, strings);
+        for (int id = 0; id < n; id++) elements.add(ElementCodec.read(source, Paths.get(strings.get(image.getInt()))));
+        var graph = new ElementGraph(elements, readInts(image), readInts(image), readInts(image), readInts(image));
+        MultiValuedMap<Element, ContentSpec> unresolved = new ArrayListValuedHashMap<>();
+        for (int i = image.getInt(); i > 0; i--) {
+            Element e = elements.get(image.getInt());
+            unresolved.put(e, ((Feature) e).contents().get(image.getInt()));
+        }
+        Reachability closures = null;
+        if (0 != (flags & HAS_CLOSURES)) {
+            int components = image.getInt();
+            BitSet[] forward = readBitSets(image, components);
+            BitSet[] reverse = readBitSets(image, components);
+            closures = new Reachability(graph, forward, reverse);
+        }
+        return new Catalog(libertyRoot, 0 != (flags & HAS_BUNDLES), new StringPool(), graph, unresolved, closures);
+    }
+
+    private static ElementCodec.Sink sink(DataOutputStream out, StringTable strings) {
+        return new ElementCodec.Sink() {
+            public void writeString(String s) throws IOException { out.writeInt(strings.intern(s)); }
+            public void writeInt(int i) throws IOException { out.writeInt(i); }
+            public void writeByte(int b) throws IOException { out.writeByte(b); }
+        };
+    }
+
+    private static ElementCodec.Source source(ByteBuffer image, MappedStrings strings) {
+        return new ElementCodec.Source() {
+            public String readString() { return strings.get(image.getInt()); }
+            public int readInt() { return image.getInt(); }
+            public byte readByte() { return image.get(); }
+        };
+    }
+
+    private static int[] readInts(ByteBuffer image) {
+        int[] result = new int[image.getInt()];
+        image.asIntBuffer().get(result);
+        image.position(image.position() + 4 * result.length);
+        return result;
+    }
+
+    private static BitSet[] readBitSets(ByteBuffer image, int count) {
+        BitSet[] result = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            int words = image.getInt();
+            result[i] = BitSet.valueOf(image.slice(image.position(), 8 * words).asLongBuffer());
+            image.position(image.position() + 8 * words);
+        }
+        return result;
+    }
+
+    private static void writeUnresolved(DataOutputStream out, Catalog catalog) throws IOException {
+        ElementGraph graph = catalog.graph();
+        var pairs = new ArrayList<int[]>();
+        for (int id = 0; id < graph.size(); id++) {
+            Element e = graph.element(id);
+            if (!(e instanceof Feature)) continue;
+            List<ContentSpec> contents = ((Feature) e).contents();
+            for (ContentSpec spec : catalog.unresolvedDependencies(e)) {
+                for (int i = 0; i < contents.size(); i++) if (contents.get(i) == spec) pairs.add(new int[] {id, i});
+            }
+        }
+        out.writeInt(pairs.size());
+        for (int[] pair : pairs) {
+            out.writeInt(pair[0]);
+            out.writeInt(pair[1]);
+        }
+    }
+
+    private static void writeClosures(DataOutputStream out, Reachability closures) throws IOException {
+        out.writeInt(closures.components());
+        for (Direction direction : Direction.values()) {
+            for (int c = 0; c < closures.components(); c++) {
+                long[] words = closures.componentClosure(c, direction).toLongArray();
+                out.writeInt(words.length);
+                for (long word : words) out.writeLong(word);
+            }
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) out.writeInt(value);
+    }
+
+    /** Assigns each distinct string an index as it is first seen, and writes them out in that order */
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        int intern(String s) {
+            if (null == s) return -1;
+            return indexes.computeIfAbsent(s, k -> {
+                strings.add(k);
+                return strings.size() - 1;
+            });
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            var encoded = new ArrayList<byte[]>(strings.size());
+            strings.forEach(s -> encoded.add(s.getBytes(UTF_8)));
+            out.writeInt(strings.size());
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+            for (byte[] bytes : encoded) out.write(bytes);
+        }
+    }
+
+    /** The string table of a mapped image, decoding each string the first time it is asked for */
+    private static final class MappedStrings {
+        private final ByteBuffer data;
+        private final int[] offsets;
+        private final String[] decoded;
+
+        /** Read the table at the current position of the image, and leave the image positioned just after it */
+        MappedStrings(ByteBuffer image) {
+            int count = image.getInt();
+            this.offsets = new int[count + 1];
+            image.asIntBuffer().get(offsets);
+            image.position(image.position() + 4 * offsets.length);
+            this.data = image.slice(image.position(), offsets[count]);
+            image.position(image.position() + offsets[count]);
+            this.decoded = new String[count];
+        }
+
+        String get(int index) {
+            if (index < 0) return null;
+            if (null == decoded[index]) {
+                byte[] bytes = new byte[offsets[index + 1] - offsets[index]];
+                data.get(offsets[index], bytes);
+                decoded[index] = new String(bytes, UTF_8);
+            }
+            return decoded[index];
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * One way of naming every element in a catalog, computed once, with each element's place in the sorted order of the names.
+ * Comparing two places is much cheaper than comparing two names, so the places serve as collation keys.
+ */
+public final class DisplayNames {
+    private final ElementGraph graph;
+    private final Function<? super Element, String> namer;
+    private final String[] names;
+    private final int[] ranks;
+
+    DisplayNames(ElementGraph graph, Function<? super Element, String> namer) {
+        this(graph, IntStream.range(0, graph.size()).mapToObj(graph::element).map(namer).toArray(String[]::new), namer);
+    }
+
+    /**
+     * @param names    the name of each element, by id
+     * @param fallback names any element that is not in the graph
+     */
+    DisplayNames(ElementGraph graph, String[] names, Function<? super Element, String> fallback) {
+        this.graph = graph;
+        this.namer = fallback;
+        this.names = names;
+        final int n = graph.size();
+        int[] order = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparing(id -> names[id]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.ranks = new int[n];
+        // elements with the same name share a rank
+        for (int i = 0; i < n; i++) ranks[order[i]] = i > 0 && names[order[i]].equals(names[order[i - 1]]) ? ranks[order[i - 1]] : i;
+    }
+
+    public String name(Element e) {
+        int id = graph.id(e);
+        return id < 0 ? namer.apply(e) : names[id];
+    }
+
+    /**
+     * @return the position of the element's name in the sorted names, which orders elements as their names would,
+     *         or -1 if the element is not in the catalog
+     */
+    public int rank(Element e) {
+        int id = graph.id(e);
+        return id < 0 ? -1 : ranks[id];
+    }
+
+    /** @return the elements in the order of their names */
+    public Comparator<Element> order() { return Comparator.comparingInt(this::rank); }
+}
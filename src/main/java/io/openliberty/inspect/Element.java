@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -15,7 +15,6 @@ package io.openliberty.inspect;
 import org.osgi.framework.Version;
 
 import java.nio.file.Path;
-import java.util.Collection;
 import java.util.Objects;
 import java.util.stream.Stream;
 
@@ -39,17 +38,11 @@ public interface Element extends Comparable<Element> {
     }
     default Visibility visibility() { return Visibility.PRIVATE; }
     default boolean isAutoFeature() { return false; }
+    /** Returns the packages this element makes available to applications */
+    default Stream<String> apiPackages() { return Stream.empty(); }
 
-    default String simpleName() {
-        return name()
-                .replaceFirst("^com.ibm.websphere.app(server|client).", "")
-                .replaceFirst("^com.ibm.websphere.", "")
-                .replaceFirst("^(com.ibm.ws|io.openliberty).(com\\.|org\\.|net\\.)?", "")
-                .replaceFirst("^io.openliberty.", "")
-                .replaceAll("(\\D)\\.", "$1 ")
-                .replaceAll("\\.(\\D)", " $1")
-                .replaceAll("_", " ");
-    }
+    /** Returns the name without its well-known package prefix, and with words separated by spaces */
+    default String simpleName() { return SimpleNames.of(name()); }
 
-    default Stream<Element> findDependencies(Collection<Element> elements) { return Stream.empty(); }
+    default Stream<Element> findDependencies(Resolver resolver) { return Stream.empty(); }
 }
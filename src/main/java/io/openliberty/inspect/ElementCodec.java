@@ -0,0 +1,159 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import io.openliberty.inspect.feature.BundleSpec;
+import io.openliberty.inspect.feature.ContentSpec;
+import io.openliberty.inspect.feature.Feature;
+import io.openliberty.inspect.feature.FeatureSpec;
+import org.osgi.framework.Version;
+import org.osgi.framework.VersionRange;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.stream.Collectors;
+
+import static org.osgi.framework.Constants.BUNDLE_SYMBOLICNAME;
+import static org.osgi.framework.Constants.BUNDLE_VERSION;
+
+/**
+ * Encodes what was parsed from the manifest of a feature or bundle, so it can be rebuilt without parsing anything.
+ * This is how elements are stored both in a {@link CatalogImage} and in a {@link ManifestCache},
+ * which differ only in how they store strings and numbers.
+ * <p>
+ * An element is its kind, description, symbolic name and version;
+ * a feature goes on with its short name, visibility, content, auto-feature conditions and API packages.
+ * The path is left to the caller, which may already know it.
+ */
+enum ElementCodec {
+    ;
+    private static final byte FEATURE = 0;
+    private static final byte BUNDLE = 1;
+    // a file that turned out not to hold an element, e.g. a jar with no bundle manifest
+    private static final byte NONE = 2;
+    private static final byte FEATURE_SPEC = 0;
+    private static final byte BUNDLE_SPEC = 1;
+    private static final String BUNDLE_DESCRIPTION = "Bundle-Description";
+
+    interface Sink {
+        /** @param s the string to write, which may be <code>null</code> */
+        void writeString(String s) throws IOException;
+        void writeInt(int i) throws IOException;
+        void writeByte(int b) throws IOException;
+    }
+
+    interface Source {
+        String readString() throws IOException;
+        int readInt() throws IOException;
+        byte readByte() throws IOException;
+    }
+
+    /**
+     * @param e                   the element to write, or <code>null</code> if the file did not hold one
+     * @param resolveDescriptions whether to write the description a feature looks up in a properties file,
+     *                            rather than leaving it to be looked up again when the feature is read
+     */
+    static void write(Sink out, Element e, boolean resolveDescriptions) throws IOException {
+        if (null == e) {
+            out.writeByte(NONE);
+            return;
+        }
+        boolean isFeature = e instanceof Feature;
+        out.writeByte(isFeature ? FEATURE : BUNDLE);
+        boolean leaveDescription = isFeature && !resolveDescriptions && ((Feature) e).hasLocalizedDescription();
+        out.writeString(leaveDescription ? null : e.description());
+        out.writeString(e.symbolicName());
+        out.writeString(e.version().toString());
+        if (!isFeature) return;
+        Feature f = (Feature) e;
+        out.writeString(f.shortName().orElse(null));
+        out.writeString(f.visibility().name());
+        out.writeInt(f.contents().size());
+        for (ContentSpec spec : f.contents()) writeSpec(out, spec);
+        out.writeByte(f.isAutoFeature() ? 1 : 0);
+        out.writeInt(f.getAutoFeatureDetails().size());
+        for (List<String> condition : f.getAutoFeatureDetails()) writeStrings(out, condition);
+        writeStrings(out, f.apiPackages().collect(Collectors.toUnmodifiableList()));
+    }
+
+    /** @return the element read, or <code>null</code> if the file did not hold one */
+    static Element read(Source in, Path path) throws IOException {
+        byte kind = in.readByte();
+        if (NONE == kind) return null;
+        String description = in.readString();
+        String symbolicName = in.readString();
+        String version = in.readString();
+        if (FEATURE == kind) {
+            String shortName = in.readString();
+            Visibility visibility = Visibility.valueOf(in.readString());
+            var contents = new ArrayList<ContentSpec>();
+            for (int i = readCount(in); i > 0; i--) contents.add(readSpec(in));
+            boolean isAutoFeature = 0 != in.readByte();
+            var autoFeatureDetails = new ArrayList<List<String>>();
+            for (int i = readCount(in); i > 0; i--) autoFeatureDetails.add(readStrings(in));
+            return new Feature(path, symbolicName, shortName, visibility, new Version(version), contents,
+                    isAutoFeature, autoFeatureDetails, readStrings(in), description);
+        }
+        if (BUNDLE != kind) throw new IOException("Unknown element kind " + kind + " for " + path);
+        var attributes = new Attributes();
+        attributes.putValue(BUNDLE_SYMBOLICNAME, symbolicName);
+        attributes.putValue(BUNDLE_VERSION, version);
+        if (null != description) attributes.putValue(BUNDLE_DESCRIPTION, description);
+        return Bundle.parse(path, attributes);
+    }
+
+    private static void writeSpec(Sink out, ContentSpec spec) throws IOException {
+        if (spec instanceof FeatureSpec) {
+            out.writeByte(FEATURE_SPEC);
+            writeStrings(out, spec.candidateNames().collect(Collectors.toUnmodifiableList()));
+        } else {
+            BundleSpec bundleSpec = (BundleSpec) spec;
+            out.writeByte(BUNDLE_SPEC);
+            out.writeString(bundleSpec.symbolicName());
+            out.writeString(bundleSpec.versionRange().map(VersionRange::toString).orElse(null));
+        }
+    }
+
+    private static ContentSpec readSpec(Source in) throws IOException {
+        byte kind = in.readByte();
+        if (FEATURE_SPEC == kind) return new FeatureSpec(readStrings(in));
+        if (BUNDLE_SPEC != kind) throw new IOException("Unknown content kind " + kind);
+        String symbolicName = in.readString();
+        String range = in.readString();
+        return new BundleSpec(symbolicName, null == range ? null : VersionRange.valueOf(range));
+    }
+
+    private static void writeStrings(Sink out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) out.writeString(value);
+    }
+
+    private static List<String> readStrings(Source in) throws IOException {
+        var result = new ArrayList<String>();
+        for (int i = readCount(in); i > 0; i--) result.add(in.readString());
+        return List.copyOf(result);
+    }
+
+    /**
+     * Read how many items follow. Nothing is allocated up front for them,
+     * so a corrupt count fails when the input runs out, rather than by exhausting memory.
+     */
+    private static int readCount(Source in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) throw new IOException("Negative count " + count);
+        return count;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedMultigraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * An immutable dependency graph over a fixed set of elements.
+ * The elements are numbered from zero in their natural order,
+ * and the edges in each direction are held in compressed sparse row form:
+ * the targets of the edges from vertex <code>v</code> are
+ * <code>edges[index[v]]</code> up to (but not including) <code>edges[index[v + 1]]</code>.
+ * Sets of elements are represented as {@link BitSet}s of element ids.
+ */
+public final class ElementGraph {
+    public enum Direction {FORWARD, REVERSE}
+
+    private final List<Element> elements;
+    private final Map<Element, Integer> ids = new HashMap<>();
+    private final int[] forwardIndex;
+    private final int[] forwardEdges;
+    private final int[] reverseIndex;
+    private final int[] reverseEdges;
+
+    ElementGraph(Collection<? extends Element> vertices, Function<Element, Stream<Element>> dependencies) {
+        this.elements = vertices.stream()
+                .distinct()
+                .sorted()
+                .collect(toUnmodifiableList());
+        final int n = elements.size();
+        for (int i = 0; i < n; i++) ids.put(elements.get(i), i);
+        // work out the forward edges from each vertex, discarding self-references and duplicates
+        int[][] targets = new int[n][];
+        int[] inDegree = new int[n];
+        int edgeCount = 0;
+        for (int v = 0; v < n; v++) {
+            final int source = v;
+            targets[v] = dependencies.apply(elements.get(v))
+                    .map(ids::get)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .filter(t -> t != source)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            for (int t : targets[v]) inDegree[t]++;
+            edgeCount += targets[v].length;
+        }
+        // pack them into arrays, and build the reverse edges at the same time
+        forwardIndex = new int[n + 1];
+        forwardEdges = new int[edgeCount];
+        reverseIndex = new int[n + 1];
+        reverseEdges = new int[edgeCount];
+        for (int v = 0; v < n; v++) {
+            forwardIndex[v + 1] = forwardIndex[v] + targets[v].length;
+            reverseIndex[v + 1] = reverseIndex[v] + inDegree[v];
+            System.arraycopy(targets[v], 0, forwardEdges, forwardIndex[v], targets[v].length);
+        }
+        int[] next = Arrays.copyOf(reverseIndex, n);
+        for (int v = 0; v < n; v++) {
+            for (int t : targets[v]) reverseEdges[next[t]++] = v;
+        }
+    }
+
+    /** Rebuild a graph from the elements in id order and the edges of a graph previously built from them */
+    ElementGraph(List<Element> elements, int[] forwardIndex, int[] forwardEdges, int[] reverseIndex, int[] reverseEdges) {
+        this.elements = List.copyOf(elements);
+        for (int i = 0; i < elements.size(); i++) ids.put(elements.get(i), i);
+        this.forwardIndex = forwardIndex;
+        this.forwardEdges = forwardEdges;
+        this.reverseIndex = reverseIndex;
+        this.reverseEdges = reverseEdges;
+    }
+
+    public int size() { return elements.size(); }
+
+    public Element element(int id) { return elements.get(id); }
+
+    /** @return the id of the specified element, or -1 if it is not in this graph */
+    public int id(Element e) { return ids.getOrDefault(e, -1); }
+
+    public BitSet ids(Stream<? extends Element> elements) {
+        BitSet result = new BitSet(size());
+        elements.mapToInt(this::id).filter(i -> i >= 0).forEach(result::set);
+        return result;
+    }
+
+    /** @return the elements whose ids are set, in their natural order */
+    public Stream<Element> elements(BitSet ids) { return ids.stream().mapToObj(elements::get); }
+
+    int[] index(Direction direction) { return direction == Direction.FORWARD ? forwardIndex : reverseIndex; }
+
+    int[] edges(Direction direction) { return direction == Direction.FORWARD ? forwardEdges : reverseEdges; }
+
+    /** @return the ids of the vertices adjacent to the specified vertex in the specified direction */
+    public IntStream neighbours(int id, Direction direction) {
+        int[] index = index(direction);
+        return Arrays.stream(edges(direction), index[id], index[id + 1]);
+    }
+
+    public int degree(int id, Direction direction) {
+        int[] index = index(direction);
+        return index[id + 1] - index[id];
+    }
+
+    /**
+     * Find everything reachable from a set of vertices, including the vertices themselves.
+     * @param excluded vertices to treat as absent from the graph, or <code>null</code>
+     */
+    public BitSet reachable(BitSet from, Direction direction, BitSet excluded) {
+        final int[] index = index(direction);
+        final int[] edges = edges(direction);
+        BitSet visited = (BitSet) from.clone();
+        if (null != excluded) visited.andNot(excluded);
+        int[] queue = visited.stream().toArray();
+        int head = 0, tail = queue.length;
+        if (tail < size()) queue = Arrays.copyOf(queue, size());
+        while (head < tail) {
+            int v = queue[head++];
+            for (int e = index[v]; e < index[v + 1]; e++) {
+                int t = edges[e];
+                if (visited.get(t) || (null != excluded && excluded.get(t))) continue;
+                visited.set(t);
+                queue[tail++] = t;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Find the length of the shortest path to each vertex from any of a set of vertices,
+     * stopping at the specified limit.
+     * @param excluded vertices to treat as absent from the graph, or <code>null</code>
+     * @return the distances, indexed by vertex id, with -1 for any vertex not reached
+     */
+    public int[] distances(BitSet from, Direction direction, BitSet excluded, int limit) {
+        final int[] index = index(direction);
+        final int[] edges = edges(direction);
+        int[] distance = new int[size()];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[size()];
+        int head = 0, tail = 0;
+        for (int v = from.nextSetBit(0); v >= 0; v = from.nextSetBit(v + 1)) {
+            if (null != excluded && excluded.get(v)) continue;
+            distance[v] = 0;
+            queue[tail++] = v;
+        }
+        while (head < tail) {
+            int v = queue[head++];
+            if (distance[v] == limit) continue;
+            for (int e = index[v]; e < index[v + 1]; e++) {
+                int t = edges[e];
+                if (distance[t] >= 0 || (null != excluded && excluded.get(t))) continue;
+                distance[t] = distance[v] + 1;
+                queue[tail++] = t;
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Collect sets of vertices into a JGraphT graph, for exporters and algorithms that need one,
+     * of the union of the subgraphs they induce.
+     * Each set contributes only the edges between its own vertices, and nothing outside the sets is copied.
+     * A partial union is just the ids of its vertices and of its edges, so partial unions from a parallel stream
+     * combine cheaply, and the graph is built once, in a single pass, however many sets went into it.
+     */
+    public Collector<BitSet, ?, Graph<Element, DefaultEdge>> toGraph() {
+        return Collector.of(Union::new, Union::add, Union::addAll, Union::toGraph, Collector.Characteristics.UNORDERED);
+    }
+
+    /** The vertices and edges, numbered by their position in the forward arrays, of a union of induced subgraphs */
+    private final class Union {
+        final BitSet vertices = new BitSet();
+        final BitSet edges = new BitSet();
+
+        void add(BitSet subset) {
+            vertices.or(subset);
+            subset.stream().forEach(v -> {
+                for (int e = forwardIndex[v]; e < forwardIndex[v + 1]; e++) if (subset.get(forwardEdges[e])) edges.set(e);
+            });
+        }
+
+        Union addAll(Union that) {
+            vertices.or(that.vertices);
+            edges.or(that.edges);
+            return this;
+        }
+
+        Graph<Element, DefaultEdge> toGraph() {
+            var graph = new DirectedMultigraph<Element, DefaultEdge>(DefaultEdge.class);
+            vertices.stream().mapToObj(elements::get).forEach(graph::addVertex);
+            // the same dependency may lie in more than one of the sets, but its edge is numbered only once
+            vertices.stream().forEach(v -> {
+                for (int e = forwardIndex[v]; e < forwardIndex[v + 1]; e++) {
+                    if (edges.get(e)) graph.addEdge(elements.get(v), elements.get(forwardEdges[e]));
+                }
+            });
+            return graph;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads the main attributes of a jar's manifest without opening it as a {@link JarFile}.
+ * Only the end of central directory record, the central directory, and the manifest entry itself are read,
+ * using positioned reads on a channel that is closed before returning.
+ */
+enum JarManifests {
+    ;
+    private static final int EOCD_SIG = 0x06054b50;
+    private static final int EOCD_LEN = 22;
+    private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+    private static final int ZIP64_LOCATOR_LEN = 20;
+    private static final int ZIP64_EOCD_SIG = 0x06064b50;
+    private static final int ZIP64_EOCD_LEN = 56;
+    private static final int CEN_SIG = 0x02014b50;
+    private static final int CEN_LEN = 46;
+    private static final int LOC_SIG = 0x04034b50;
+    private static final int LOC_LEN = 30;
+    private static final int MAX_COMMENT_LEN = 0xFFFF;
+    private static final long MAX_CEN_SIZE = 64L << 20;
+    private static final int STORED = 0, DEFLATED = 8;
+    private static final byte[] MANIFEST_NAME = JarFile.MANIFEST_NAME.getBytes(US_ASCII);
+
+    /** Thrown when a jar uses zip features this reader does not handle, so the caller should fall back to {@link JarFile} */
+    private static class UnsupportedZipException extends Exception {}
+
+    /**
+     * @return the main attributes of the manifest, or nothing if the file is not a zip or has no manifest
+     */
+    static Optional<Attributes> readMainAttributes(Path path) {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            return findManifest(channel)
+                    .map(ByteArrayInputStream::new)
+                    .map(JarManifests::parseManifest)
+                    .map(Manifest::getMainAttributes);
+        } catch (UnsupportedZipException e) {
+            return readWithJarFile(path);
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Manifest parseManifest(ByteArrayInputStream in) {
+        try {
+            return new Manifest(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Optional<Attributes> readWithJarFile(Path path) {
+        try (JarFile jar = new JarFile(path.toFile())) {
+            return Optional.ofNullable(jar.getManifest()).map(Manifest::getMainAttributes);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<byte[]> findManifest(FileChannel channel) throws IOException, UnsupportedZipException {
+        final long fileSize = channel.size();
+        if (fileSize < EOCD_LEN) return Optional.empty();
+        // the end of central directory record is followed only by an optional comment
+        int tailLen = (int) Math.min(fileSize, EOCD_LEN + MAX_COMMENT_LEN);
+        long tailPos = fileSize - tailLen;
+        ByteBuffer tail = read(channel, tailPos, tailLen);
+        int eocd = -1;
+        for (int i = tailLen - EOCD_LEN; i >= 0; i--) {
+            if (tail.getInt(i) == EOCD_SIG) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd < 0) return Optional.empty();
+        long cenSize = Integer.toUnsignedLong(tail.getInt(eocd + 12));
+        long cenPos = Integer.toUnsignedLong(tail.getInt(eocd + 16));
+        if (cenPos == 0xFFFFFFFFL || cenSize == 0xFFFFFFFFL) {
+            // zip64: the real values are in the zip64 end of central directory record
+            long locatorPos = tailPos + eocd - ZIP64_LOCATOR_LEN;
+            if (locatorPos < 0) return Optional.empty();
+            ByteBuffer locator = read(channel, locatorPos, ZIP64_LOCATOR_LEN);
+            if (locator.getInt(0) != ZIP64_LOCATOR_SIG) throw new UnsupportedZipException();
+            ByteBuffer eocd64 = read(channel, locator.getLong(8), ZIP64_EOCD_LEN);
+            if (eocd64.getInt(0) != ZIP64_EOCD_SIG) throw new UnsupportedZipException();
+            cenSize = eocd64.getLong(40);
+            cenPos = eocd64.getLong(48);
+        }
+        if (cenSize > MAX_CEN_SIZE || cenPos + cenSize > fileSize) throw new UnsupportedZipException();
+        ByteBuffer cen = read(channel, cenPos, (int) cenSize);
+        for (int pos = 0; pos + CEN_LEN <= cenSize; ) {
+            if (cen.getInt(pos) != CEN_SIG) throw new UnsupportedZipException();
+            int nameLen = Short.toUnsignedInt(cen.getShort(pos + 28));
+            int extraLen = Short.toUnsignedInt(cen.getShort(pos + 30));
+            int commentLen = Short.toUnsignedInt(cen.getShort(pos + 32));
+            if (isManifest(cen, pos + CEN_LEN, nameLen)) {
+                int method = Short.toUnsignedInt(cen.getShort(pos + 10));
+                long compressedSize = Integer.toUnsignedLong(cen.getInt(pos + 20));
+                long size = Integer.toUnsignedLong(cen.getInt(pos + 24));
+                long locPos = Integer.toUnsignedLong(cen.getInt(pos + 42));
+                return Optional.of(readEntry(channel, method, compressedSize, size, locPos));
+            }
+            pos += CEN_LEN + nameLen + extraLen + commentLen;
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isManifest(ByteBuffer cen, int namePos, int nameLen) {
+        if (nameLen != MANIFEST_NAME.length) return false;
+        for (int i = 0; i < nameLen; i++) {
+            int c = cen.get(namePos + i);
+            // compare case-insensitively, as JarFile does
+            if (c >= 'a' && c <= 'z') c -= 'a' - 'A';
+            if (c != MANIFEST_NAME[i]) return false;
+        }
+        return true;
+    }
+
+    private static byte[] readEntry(FileChannel channel, int method, long compressedSize, long size, long locPos) throws IOException, UnsupportedZipException {
+        if (compressedSize == 0xFFFFFFFFL || size == 0xFFFFFFFFL || size > Integer.MAX_VALUE) throw new UnsupportedZipException();
+        ByteBuffer loc = read(channel, locPos, LOC_LEN);
+        if (loc.getInt(0) != LOC_SIG) throw new UnsupportedZipException();
+        long dataPos = locPos + LOC_LEN + Short.toUnsignedInt(loc.getShort(26)) + Short.toUnsignedInt(loc.getShort(28));
+        switch (method) {
+            case STORED:
+                return read(channel, dataPos, (int) size).array();
+            case DEFLATED:
+                // an extra dummy byte is needed when inflating without the zlib wrapper
+                ByteBuffer compressed = ByteBuffer.allocate((int) compressedSize + 1);
+                compressed.limit((int) compressedSize);
+                readFully(channel, compressed, dataPos);
+                compressed.limit(compressed.capacity());
+                Inflater inflater = new Inflater(true);
+                try {
+                    inflater.setInput(compressed.array());
+                    byte[] result = new byte[(int) size];
+                    int n = 0;
+                    while (n < result.length && !inflater.finished()) {
+                        int len = inflater.inflate(result, n, result.length - n);
+                        if (len == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                        n += len;
+                    }
+                    if (n != result.length) throw new UnsupportedZipException();
+                    return result;
+                } catch (DataFormatException e) {
+                    throw new UnsupportedZipException();
+                } finally {
+                    inflater.end();
+                }
+            default:
+                throw new UnsupportedZipException();
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long pos, int len) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(len);
+        readFully(channel, buffer, pos);
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long pos) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, pos);
+            if (n < 0) throw new IOException("Unexpected end of file");
+            pos += n;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOError;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * An on-disk cache of the feature or bundle parsed from each file in a Liberty installation,
+ * stored as written by {@link ElementCodec} so that no manifest header needs to be parsed again.
+ * Each entry records the size and modification time of the file it came from,
+ * so only files that have been added or changed since the last run need to be parsed again.
+ * Entries for files that no longer exist are dropped when the cache is saved.
+ * The file ends with a checksum of the rest, and a cache that does not match it is ignored.
+ */
+final class ManifestCache {
+    private static final int MAGIC = 0x4c584d43; // "LXMC"
+    private static final int FORMAT_VERSION = 3;
+    private static final int NULL_LENGTH = -1;
+    /** A cache that never remembers anything */
+    static final ManifestCache NONE = new ManifestCache(null, null, Map.of());
+
+    // the element is kept encoded, and only decoded if this run uses it
+    private record Entry(long size, long modified, byte[] element) {
+        boolean isCurrent(BasicFileAttributes attrs) {
+            return size == attrs.size() && modified == attrs.lastModifiedTime().toMillis();
+        }
+    }
+
+    private final Path cacheFile;
+    private final Path libertyRoot;
+    private final Map<String, Entry> loaded;
+    private final Map<String, Entry> used = new ConcurrentHashMap<>();
+    private volatile boolean modified;
+
+    private ManifestCache(Path cacheFile, Path libertyRoot, Map<String, Entry> loaded) {
+        this.cacheFile = cacheFile;
+        this.libertyRoot = libertyRoot;
+        this.loaded = loaded;
+    }
+
+    static ManifestCache load(Path cacheDir, Path libertyRoot) {
+        if (null == cacheDir) return NONE;
+        libertyRoot = libertyRoot.toAbsolutePath().normalize();
+        Path cacheFile = cacheDir.resolve(String.format("%08x.mfcache", libertyRoot.toString().hashCode()));
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                // read the whole file, so that it can be checked, and every length in it checked against what is left
+                byte[] bytes = Files.readAllBytes(cacheFile);
+                int length = bytes.length - Long.BYTES;
+                if (length < 0 || checksum(bytes, length) != ByteBuffer.wrap(bytes, length, Long.BYTES).getLong())
+                    throw new IOException("Checksum mismatch");
+                var in = new DataInputStream(new ByteArrayInputStream(bytes, 0, length));
+                if (MAGIC == in.readInt() && FORMAT_VERSION == in.readInt() && libertyRoot.toString().equals(readString(in))) {
+                    for (int i = in.readInt(); i > 0; i--) {
+                        String key = readString(in);
+                        // throws if the key is not a valid path, so the cache is treated as corrupt
+                        libertyRoot.resolve(key);
+                        long size = in.readLong();
+                        long modified = in.readLong();
+                        byte[] element = new byte[readLength(in)];
+                        in.readFully(element);
+                        entries.put(key, new Entry(size, modified, element));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // a corrupt or unreadable cache is no worse than no cache at all
+                entries.clear();
+            }
+        }
+        return new ManifestCache(cacheFile, libertyRoot, entries);
+    }
+
+    /**
+     * Retrieve the cached element for a file, or parse it afresh
+     * if the file is not in the cache or has changed since it was cached.
+     * @param parser  parses the file, returning <code>null</code> if it does not hold an element
+     * @param strings the pool that supplies the strings of an element read from the cache
+     */
+    Element element(Path file, Function<Path, ? extends Element> parser, StringPool strings) {
+        if (this == NONE) return parser.apply(file);
+        final BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return parser.apply(file);
+        }
+        String key = libertyRoot.relativize(file.toAbsolutePath().normalize()).toString();
+        Entry entry = loaded.get(key);
+        if (null != entry && entry.isCurrent(attrs)) {
+            try {
+                Element result = decode(entry.element, file, strings);
+                used.put(key, entry);
+                return result;
+            } catch (IOException | RuntimeException e) {
+                // parse the file again, as if it were not cached
+            }
+        }
+        Element result = parser.apply(file);
+        used.put(key, new Entry(attrs.size(), attrs.lastModifiedTime().toMillis(), encode(result)));
+        modified = true;
+        return result;
+    }
+
+    private static byte[] encode(Element e) {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        try {
+            // a localized description is left to be looked up, as its properties file may change independently
+            ElementCodec.write(new ElementCodec.Sink() {
+                public void writeString(String s) throws IOException { ManifestCache.writeString(out, s); }
+                public void writeInt(int i) throws IOException { out.writeInt(i); }
+                public void writeByte(int b) throws IOException { out.writeByte(b); }
+            }, e, false);
+            out.flush();
+        } catch (IOException impossible) {
+            throw new IOError(impossible);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Element decode(byte[] element, Path file, StringPool strings) throws IOException {
+        var in = new DataInputStream(new ByteArrayInputStream(element));
+        return ElementCodec.read(new ElementCodec.Source() {
+            public String readString() throws IOException { return strings.intern(ManifestCache.readString(in)); }
+            public int readInt() throws IOException { return in.readInt(); }
+            public byte readByte() throws IOException { return in.readByte(); }
+        }, file);
+    }
+
+    /** Write the cache back to disk if anything was added, changed, or removed. */
+    void save() {
+        if (this == NONE) return;
+        // keep entries for files this run did not look at (e.g. bundles when they were not requested)
+        loaded.forEach((key, entry) -> {
+            if (used.containsKey(key)) return;
+            if (Files.exists(libertyRoot.resolve(key))) used.put(key, entry);
+            else modified = true;
+        });
+        if (!modified) return;
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tmp = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            var checksum = new CRC32();
+            try (var out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(Files.newOutputStream(tmp), checksum)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, libertyRoot.toString());
+                out.writeInt(used.size());
+                for (var e : used.entrySet()) {
+                    writeString(out, e.getKey());
+                    out.writeLong(e.getValue().size);
+                    out.writeLong(e.getValue().modified);
+                    out.writeInt(e.getValue().element.length);
+                    out.write(e.getValue().element);
+                }
+                out.flush();
+                out.writeLong(checksum.getValue());
+            }
+            Files.move(tmp, cacheFile, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            // failing to save the cache only costs time on the next run
+        }
+    }
+
+    private static long checksum(byte[] bytes, int length) {
+        var checksum = new CRC32();
+        checksum.update(bytes, 0, length);
+        return checksum.getValue();
+    }
+
+    /** @return the string read, or <code>null</code> if a length of -1 was written for it */
+    private static String readString(DataInputStream in) throws IOException {
+        if (NULL_LENGTH == peekInt(in)) {
+            in.readInt();
+            return null;
+        }
+        byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Read the length of the data that follows, which cannot be more than is left of the input,
+     * so that a corrupt length is caught before anything is allocated for it.
+     * @param in a stream over bytes in memory, which knows exactly how many bytes are left
+     * @throws IOException if the length is negative or more than is left
+     */
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) throw new IOException("Corrupt length " + length + " with " + in.available() + " bytes left");
+        return length;
+    }
+
+    private static int peekInt(DataInputStream in) throws IOException {
+        in.mark(Integer.BYTES);
+        int i = in.readInt();
+        in.reset();
+        return i;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (null == s) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = s.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.apache.commons.collections4.MultiValuedMap;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Comparator.comparing;
+
+/**
+ * The lower-cased names of every element, sorted so that a pattern's literal prefix
+ * can be found by binary search, with a second copy of the names sorted back to front
+ * for patterns that start with a wildcard but end with literal text.
+ * Only the names within the narrower of the two ranges are tested against the pattern.
+ */
+final class NameIndex {
+    private final String[] names;
+    private final Element[][] elements;
+    // the reversed names, sorted, and the index in names of each one
+    private final String[] reversedNames;
+    private final int[] reversedOrder;
+
+    NameIndex(MultiValuedMap<String, Element> elementsByName) {
+        this.names = elementsByName.keySet().stream().sorted().toArray(String[]::new);
+        this.elements = Arrays.stream(names)
+                .map(elementsByName::get)
+                .map(c -> c.toArray(new Element[0]))
+                .toArray(Element[][]::new);
+        this.reversedOrder = IntStream.range(0, names.length)
+                .boxed()
+                .sorted(comparing(i -> reverse(names[i])))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.reversedNames = Arrays.stream(reversedOrder).mapToObj(i -> reverse(names[i])).toArray(String[]::new);
+    }
+
+    /** @return the elements with any name matching the pattern, possibly with duplicates */
+    Stream<Element> find(NamePattern pattern) {
+        if (pattern.isLiteral()) {
+            int i = Arrays.binarySearch(names, pattern.prefix);
+            return i < 0 ? Stream.empty() : Arrays.stream(elements[i]);
+        }
+        int from = start(names, pattern.prefix);
+        int to = end(names, from, pattern.prefix);
+        final IntStream candidates;
+        if (!pattern.suffix.isEmpty()) {
+            String reversedSuffix = reverse(pattern.suffix);
+            int rFrom = start(reversedNames, reversedSuffix);
+            int rTo = end(reversedNames, rFrom, reversedSuffix);
+            candidates = rTo - rFrom < to - from ?
+                    Arrays.stream(reversedOrder, rFrom, rTo) :
+                    IntStream.range(from, to);
+        } else {
+            candidates = IntStream.range(from, to);
+        }
+        return candidates
+                .filter(i -> pattern.matches(names[i]))
+                .mapToObj(i -> elements[i])
+                .flatMap(Arrays::stream);
+    }
+
+    /** @return the index of the first string that is not less than the prefix */
+    private static int start(String[] sorted, String prefix) {
+        int i = Arrays.binarySearch(sorted, prefix);
+        return i < 0 ? -(i + 1) : i;
+    }
+
+    /** @return the index of the first string at or after <code>from</code> that does not start with the prefix */
+    private static int end(String[] sorted, int from, String prefix) {
+        if (prefix.isEmpty()) return sorted.length;
+        int lo = from, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].startsWith(prefix)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static String reverse(String s) { return new StringBuilder(s).reverse().toString(); }
+}
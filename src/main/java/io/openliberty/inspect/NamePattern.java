@@ -0,0 +1,309 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled name pattern, using the same syntax as {@link java.nio.file.FileSystem#getPathMatcher(String)}:
+ * a glob by default, or a regular expression if prefixed with <code>regex:</code>.
+ * Element names never contain a <code>/</code>, so <code>*</code> and <code>**</code> both match any run of characters.
+ * <p>
+ * Globs using only <code>*</code>, <code>?</code>, <code>[...]</code> and <code>\</code> escapes are matched directly.
+ * Globs with <code>{...}</code> alternatives, or with a character class the JDK would leave to its regular expression
+ * engine to make sense of, are converted to regular expressions exactly as the JDK converts them,
+ * so every glob is accepted or rejected just as the JDK would.
+ * The literal text at either end of a pattern is kept so that a {@link NameIndex} can narrow its search.
+ */
+final class NamePattern {
+    private static final int ANY_CHAR = -1;
+    private static final int ANY_RUN = -2;
+    // character classes are encoded as CLASS_BASE - index into classes
+    private static final int CLASS_BASE = -3;
+
+    private final int[] tokens;
+    private final CharClass[] classes;
+    private final Pattern regex;
+    final String prefix;
+    final String suffix;
+
+    private static final class CharClass {
+        private final boolean negated;
+        // inclusive ranges as pairs of characters
+        private final char[] ranges;
+
+        CharClass(boolean negated, char[] ranges) {
+            this.negated = negated;
+            this.ranges = ranges;
+        }
+
+        boolean matches(char c) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (ranges[i] <= c && c <= ranges[i + 1]) return !negated;
+            }
+            return negated;
+        }
+    }
+
+    private NamePattern(int[] tokens, CharClass[] classes, Pattern regex, String prefix, String suffix) {
+        this.tokens = tokens;
+        this.classes = classes;
+        this.regex = regex;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    static NamePattern compile(String pattern) {
+        int colon = pattern.indexOf(':');
+        if (colon < 0) return compileGlob(pattern);
+        String syntax = pattern.substring(0, colon);
+        String expression = pattern.substring(colon + 1);
+        switch (syntax) {
+            case "glob": return compileGlob(expression);
+            case "regex": return new NamePattern(null, null, Pattern.compile(expression), "", "");
+            default: throw new UnsupportedOperationException("Syntax '" + syntax + "' not recognized");
+        }
+    }
+
+    /** @return whether this pattern uses no wildcards, so it can only match the prefix */
+    boolean isLiteral() { return null != tokens && prefix.length() == tokens.length; }
+
+    boolean matches(String name) {
+        if (null != regex) return regex.matcher(name).matches();
+        // match greedily, backtracking to the most recent run wildcard on failure
+        int t = 0, n = 0, runToken = -1, runStart = 0;
+        while (n < name.length()) {
+            if (t < tokens.length && tokens[t] == ANY_RUN) {
+                runToken = t++;
+                runStart = n;
+            } else if (t < tokens.length && matches(tokens[t], name.charAt(n))) {
+                t++;
+                n++;
+            } else if (runToken >= 0) {
+                t = runToken + 1;
+                n = ++runStart;
+            } else {
+                return false;
+            }
+        }
+        while (t < tokens.length && tokens[t] == ANY_RUN) t++;
+        return t == tokens.length;
+    }
+
+    private boolean matches(int token, char c) {
+        if (token >= 0) return token == c;
+        if (token == ANY_CHAR) return true;
+        return classes[CLASS_BASE - token].matches(c);
+    }
+
+    private static NamePattern compileGlob(String glob) {
+        if (glob.indexOf('{') >= 0) return compileRegex(glob);
+        var tokens = new int[glob.length()];
+        var classes = new ArrayList<CharClass>();
+        int count = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (++i == glob.length()) throw new IllegalArgumentException("No character to escape at end of pattern: " + glob);
+                    tokens[count++] = glob.charAt(i);
+                    break;
+                case '?':
+                    tokens[count++] = ANY_CHAR;
+                    break;
+                case '*':
+                    // collapse '**' into a single token
+                    if (count == 0 || tokens[count - 1] != ANY_RUN) tokens[count++] = ANY_RUN;
+                    break;
+                case '[':
+                    i = parseClass(glob, i, classes);
+                    if (i < 0) return compileRegex(glob);
+                    tokens[count++] = CLASS_BASE - (classes.size() - 1);
+                    break;
+                default:
+                    tokens[count++] = c;
+            }
+        }
+        tokens = Arrays.copyOf(tokens, count);
+        int p = 0;
+        while (p < count && tokens[p] >= 0) p++;
+        int s = count;
+        while (s > p && tokens[s - 1] >= 0) s--;
+        return new NamePattern(tokens, classes.toArray(new CharClass[0]), null, literal(tokens, 0, p), literal(tokens, s, count));
+    }
+
+    private static String literal(int[] tokens, int from, int to) {
+        var sb = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) sb.append((char) tokens[i]);
+        return sb.toString();
+    }
+
+    private static NamePattern compileRegex(String glob) {
+        return new NamePattern(null, null, Pattern.compile(toRegex(glob)), "", "");
+    }
+
+    /**
+     * Parse a character class the way the JDK does: a <code>\</code> is just another character,
+     * and the first <code>]</code> always closes the class.
+     * @return the index of the closing bracket of the class starting at the specified index,
+     *         or -1 if only a regular expression can say what the class means
+     */
+    private static int parseClass(String glob, int start, List<CharClass> classes) {
+        int i = start + 1;
+        boolean negated = false;
+        var ranges = new StringBuilder();
+        if (i < glob.length() && glob.charAt(i) == '^') {
+            ranges.append("^^");
+            i++;
+        } else {
+            negated = i < glob.length() && glob.charAt(i) == '!';
+            if (negated) i++;
+            if (i < glob.length() && glob.charAt(i) == '-') {
+                ranges.append("--");
+                i++;
+            }
+        }
+        boolean hasRangeStart = false;
+        char last = 0;
+        while (true) {
+            if (i >= glob.length()) throw new IllegalArgumentException("Missing ']' in pattern: " + glob);
+            char c = glob.charAt(i++);
+            if (c == ']') break;
+            if (c == '/') throw new IllegalArgumentException("Explicit name separator in class in pattern: " + glob);
+            // how a run of '&' reads depends on how the JDK escapes it, so leave it to the regular expression engine
+            if (c == '&' && i < glob.length() && glob.charAt(i) == '&') return -1;
+            if (c != '-') {
+                ranges.append(c).append(c);
+                hasRangeStart = true;
+                last = c;
+                continue;
+            }
+            if (!hasRangeStart) throw new IllegalArgumentException("Invalid range in pattern: " + glob);
+            if (i >= glob.length()) throw new IllegalArgumentException("Missing ']' in pattern: " + glob);
+            c = glob.charAt(i++);
+            if (c == ']') {
+                // a trailing '-' stands for itself
+                ranges.append("--");
+                break;
+            }
+            if (c < last) throw new IllegalArgumentException("Invalid range in pattern: " + glob);
+            // the JDK does not escape the end of a range, so these change the meaning of the regular expression
+            if (c == '\\' || c == '[' || c == '&') return -1;
+            ranges.setCharAt(ranges.length() - 1, c);
+            hasRangeStart = false;
+        }
+        // an empty class is left for the regular expression engine to reject or not
+        if (0 == ranges.length()) return -1;
+        classes.add(new CharClass(negated, ranges.toString().toCharArray()));
+        return i - 1;
+    }
+
+    /**
+     * Convert a glob to a regular expression, for the less common constructs.
+     * This follows the JDK's own conversion for the default file system,
+     * so a malformed glob fails, or is accepted, just as it would with a {@link java.nio.file.PathMatcher}.
+     */
+    private static String toRegex(String glob) {
+        var regex = new StringBuilder("^");
+        boolean inGroup = false;
+        int i = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i++);
+            switch (c) {
+                case '\\':
+                    if (i == glob.length()) throw new IllegalArgumentException("No character to escape at end of pattern: " + glob);
+                    char next = glob.charAt(i++);
+                    if (isGlobMeta(next) || isRegexMeta(next)) regex.append('\\');
+                    regex.append(next);
+                    break;
+                case '[':
+                    regex.append("[[^/]&&[");
+                    if (next(glob, i) == '^') {
+                        regex.append("\\^");
+                        i++;
+                    } else {
+                        if (next(glob, i) == '!') {
+                            regex.append('^');
+                            i++;
+                        }
+                        if (next(glob, i) == '-') {
+                            regex.append('-');
+                            i++;
+                        }
+                    }
+                    boolean hasRangeStart = false;
+                    char last = 0;
+                    while (i < glob.length()) {
+                        c = glob.charAt(i++);
+                        if (c == ']') break;
+                        if (c == '/') throw new IllegalArgumentException("Explicit name separator in class in pattern: " + glob);
+                        if (c == '\\' || c == '[' || c == '&' && next(glob, i) == '&') regex.append('\\');
+                        regex.append(c);
+                        if (c == '-') {
+                            if (!hasRangeStart) throw new IllegalArgumentException("Invalid range in pattern: " + glob);
+                            if ((c = next(glob, i++)) == EOL || c == ']') break;
+                            if (c < last) throw new IllegalArgumentException("Invalid range in pattern: " + glob);
+                            regex.append(c);
+                            hasRangeStart = false;
+                        } else {
+                            hasRangeStart = true;
+                            last = c;
+                        }
+                    }
+                    if (c != ']') throw new IllegalArgumentException("Missing ']' in pattern: " + glob);
+                    regex.append("]]");
+                    break;
+                case '{':
+                    if (inGroup) throw new IllegalArgumentException("Cannot nest groups in pattern: " + glob);
+                    regex.append("(?:(?:");
+                    inGroup = true;
+                    break;
+                case '}':
+                    if (inGroup) regex.append("))");
+                    else regex.append('}');
+                    inGroup = false;
+                    break;
+                case ',':
+                    regex.append(inGroup ? ")|(?:" : ",");
+                    break;
+                case '*':
+                    if (next(glob, i) == '*') {
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                default:
+                    if (isRegexMeta(c)) regex.append('\\');
+                    regex.append(c);
+            }
+        }
+        if (inGroup) throw new IllegalArgumentException("Missing '}' in pattern: " + glob);
+        return regex.append('$').toString();
+    }
+
+    private static final char EOL = 0;
+
+    private static char next(String glob, int i) { return i < glob.length() ? glob.charAt(i) : EOL; }
+
+    private static boolean isRegexMeta(char c) { return ".^$+{[]|()".indexOf(c) >= 0; }
+
+    private static boolean isGlobMeta(char c) { return "\\*?[{".indexOf(c) >= 0; }
+}
@@ -0,0 +1,223 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import io.openliberty.inspect.ElementGraph.Direction;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+import static io.openliberty.inspect.ElementGraph.Direction.FORWARD;
+
+/**
+ * Memoized transitive closures of an {@link ElementGraph}.
+ * The graph is first condensed into its strongly connected components,
+ * which every member of a cycle shares, so each closure is computed
+ * at most once per component and direction, and only when first asked for.
+ * Each closure is kept in whichever of two forms is smaller (see {@link CompactSet}),
+ * so a closure takes space in proportion to its size, not to the size of the graph.
+ */
+final class Reachability {
+    private final int[] component;
+    private final int[][] members;
+    private final int[][] forward;
+    private final int[][] reverse;
+    private final CompactSet[] forwardClosure;
+    private final CompactSet[] reverseClosure;
+
+    Reachability(ElementGraph graph) {
+        final int n = graph.size();
+        this.component = new int[n];
+        int count = findComponents(graph, component);
+        int[] sizes = new int[count];
+        for (int v = 0; v < n; v++) sizes[component[v]]++;
+        this.members = new int[count][];
+        for (int c = 0; c < count; c++) members[c] = new int[sizes[c]];
+        for (int v = n - 1; v >= 0; v--) members[component[v]][--sizes[component[v]]] = v;
+        this.forward = condense(graph, FORWARD, count);
+        this.reverse = condense(graph, Direction.REVERSE, count);
+        this.forwardClosure = new CompactSet[count];
+        this.reverseClosure = new CompactSet[count];
+    }
+
+    /**
+     * Reuse closures computed for the same graph earlier.
+     * @param forwardClosures the forward closure of each strongly connected component, in the order this class numbers them
+     * @param reverseClosures the reverse closure of each component
+     */
+    Reachability(ElementGraph graph, BitSet[] forwardClosures, BitSet[] reverseClosures) {
+        this(graph);
+        if (forwardClosures.length != members.length || reverseClosures.length != members.length)
+            throw new IllegalArgumentException("Expected closures for " + members.length + " components but found "
+                    + forwardClosures.length + " and " + reverseClosures.length);
+        for (int c = 0; c < members.length; c++) {
+            forwardClosure[c] = CompactSet.of(forwardClosures[c]);
+            reverseClosure[c] = CompactSet.of(reverseClosures[c]);
+        }
+    }
+
+    int components() { return members.length; }
+
+    /** @return everything reachable from the members of the specified component */
+    synchronized BitSet componentClosure(int component, Direction direction) {
+        BitSet result = new BitSet(this.component.length);
+        closure(component, direction).addTo(result);
+        return result;
+    }
+
+    /** @return everything reachable from the specified vertices, including the vertices themselves */
+    synchronized BitSet reachable(BitSet from, Direction direction) {
+        BitSet result = new BitSet(component.length);
+        from.stream().map(v -> component[v]).distinct().forEach(c -> closure(c, direction).addTo(result));
+        return result;
+    }
+
+    private CompactSet closure(int start, Direction direction) {
+        final CompactSet[] memo = direction == FORWARD ? forwardClosure : reverseClosure;
+        final int[][] dag = direction == FORWARD ? forward : reverse;
+        if (null != memo[start]) return memo[start];
+        // post-order walk of the condensed graph, which has no cycles
+        int[] stack = new int[members.length];
+        int top = 0;
+        stack[top++] = start;
+        // the closure being built, which is cleared and reused for each component
+        BitSet closure = new BitSet(component.length);
+        while (top > 0) {
+            int c = stack[top - 1];
+            if (null != memo[c]) {
+                top--;
+                continue;
+            }
+            boolean ready = true;
+            for (int d : dag[c]) {
+                if (null == memo[d]) {
+                    ready = false;
+                    if (top == stack.length) stack = Arrays.copyOf(stack, 2 * stack.length);
+                    stack[top++] = d;
+                }
+            }
+            if (!ready) continue;
+            closure.clear();
+            for (int v : members[c]) closure.set(v);
+            for (int d : dag[c]) memo[d].addTo(closure);
+            memo[c] = CompactSet.of(closure);
+            top--;
+        }
+        return memo[start];
+    }
+
+    /** Tarjan's algorithm, without recursion so deep dependency chains cannot overflow the stack */
+    private static int findComponents(ElementGraph graph, int[] component) {
+        final int n = graph.size();
+        final int[] index = graph.index(FORWARD);
+        final int[] edges = graph.edges(FORWARD);
+        int[] order = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(order, -1);
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int sp = 0;
+        int[] calls = new int[n];
+        int[] nextEdge = new int[n];
+        int count = 0, counter = 0;
+        for (int root = 0; root < n; root++) {
+            if (order[root] >= 0) continue;
+            int depth = 0;
+            calls[depth] = root;
+            nextEdge[depth] = index[root];
+            order[root] = low[root] = counter++;
+            stack[sp++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                int v = calls[depth];
+                if (nextEdge[depth] < index[v + 1]) {
+                    int w = edges[nextEdge[depth]++];
+                    if (order[w] < 0) {
+                        // descend into w
+                        depth++;
+                        calls[depth] = w;
+                        nextEdge[depth] = index[w];
+                        order[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], order[w]);
+                    }
+                    continue;
+                }
+                // all edges from v have been explored
+                if (low[v] == order[v]) {
+                    int w;
+                    do {
+                        w = stack[--sp];
+                        onStack[w] = false;
+                        component[w] = count;
+                    } while (w != v);
+                    count++;
+                }
+                depth--;
+                if (depth >= 0) low[calls[depth]] = Math.min(low[calls[depth]], low[v]);
+            }
+        }
+        return count;
+    }
+
+    private int[][] condense(ElementGraph graph, Direction direction, int count) {
+        final int[] index = graph.index(direction);
+        final int[] edges = graph.edges(direction);
+        BitSet[] targets = new BitSet[count];
+        for (int v = 0; v < component.length; v++) {
+            int c = component[v];
+            for (int e = index[v]; e < index[v + 1]; e++) {
+                int d = component[edges[e]];
+                if (d == c) continue;
+                if (null == targets[c]) targets[c] = new BitSet();
+                targets[c].set(d);
+            }
+        }
+        return IntStream.range(0, count)
+                .mapToObj(c -> null == targets[c] ? new int[0] : targets[c].stream().toArray())
+                .toArray(int[][]::new);
+    }
+
+    /**
+     * An immutable set of vertex ids, held either as a sorted array of the ids or as a bitset up to the highest one,
+     * whichever is smaller, as in the array and bitmap containers of a Roaring bitmap.
+     * The closures of the many components near the leaves of a graph are small, and are held as arrays;
+     * a bitset would take a bit for every vertex up to the highest id in the closure.
+     */
+    private static final class CompactSet {
+        private final int[] ids;
+        private final BitSet bits;
+
+        private CompactSet(int[] ids, BitSet bits) {
+            this.ids = ids;
+            this.bits = bits;
+        }
+
+        /** @return a copy of the set, in whichever form is smaller */
+        static CompactSet of(BitSet set) {
+            // an id in the array takes 32 bits, and the bitset takes 64 bits for every 64 ids up to the highest
+            int words = (set.length() + 63) / 64;
+            return set.cardinality() < 2 * words ?
+                    new CompactSet(set.stream().toArray(), null) :
+                    new CompactSet(null, BitSet.valueOf(set.toLongArray()));
+        }
+
+        void addTo(BitSet target) {
+            if (null == bits) for (int id : ids) target.set(id);
+            else target.or(bits);
+        }
+    }
+}
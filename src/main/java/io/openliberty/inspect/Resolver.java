@@ -0,0 +1,42 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import io.openliberty.inspect.feature.ContentSpec;
+
+import org.osgi.framework.VersionRange;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import static java.util.Comparator.comparing;
+
+/**
+ * Finds the elements a dependency might refer to, so that resolution
+ * does not need to examine every element in the catalog.
+ */
+public interface Resolver {
+    /** @return every element with the specified symbolic name, which may be empty but never null */
+    Collection<Element> candidates(String symbolicName);
+
+    /** @return the highest installed version of the named bundle that lies within the range */
+    default Optional<Element> highestVersion(String symbolicName, VersionRange range) {
+        return candidates(symbolicName).stream()
+                .filter(Bundle.class::isInstance)
+                .filter(e -> range.includes(e.version()))
+                .max(comparing(Element::version));
+    }
+
+    /** Called when none of the candidates satisfy a dependency of the specified element */
+    default void unresolved(Element dependent, ContentSpec spec) {}
+}
@@ -0,0 +1,70 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+/**
+ * Shortens element names for display, e.g. <code>com.ibm.websphere.appserver.servlet-4.0</code> to <code>servlet-4.0</code>,
+ * and <code>com.ibm.ws.kernel.boot</code> to <code>kernel boot</code>.
+ * This gives the same results as the chain of regular expressions it replaced,
+ * including the way a '.' in each prefix matches any character, but makes a single pass over the name for each step.
+ */
+enum SimpleNames {
+    ;
+
+    static String of(String name) {
+        int start = 0;
+        if (matches(name, 0, "com.ibm.websphere.app")
+                && (matches(name, 21, "server") || matches(name, 21, "client"))
+                && name.length() > 27) start = 28;
+        if (matches(name, start, "com.ibm.websphere.")) start += 18;
+        if (matches(name, start, "com.ibm.ws") && name.length() > start + 10) start = skipPackage(name, start + 11);
+        else if (matches(name, start, "io.openliberty") && name.length() > start + 14) start = skipPackage(name, start + 15);
+        if (matches(name, start, "io.openliberty.")) start += 15;
+        return spaceOutDotsAfterWords(spaceOutDotsBeforeWords(name.substring(start))).replace('_', ' ');
+    }
+
+    /** @return where the name continues after an optional <code>com.</code>, <code>org.</code>, or <code>net.</code> */
+    private static int skipPackage(String name, int start) {
+        return name.startsWith("com.", start) || name.startsWith("org.", start) || name.startsWith("net.", start) ? start + 4 : start;
+    }
+
+    /** @return whether the text occurs at the specified index of the name, with a '.' in the text matching any character */
+    private static boolean matches(String name, int index, String text) {
+        if (name.length() - index < text.length()) return false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '.' && c != name.charAt(index + i)) return false;
+        }
+        return true;
+    }
+
+    /** Replace each '.' that follows a non-digit with a space, as <code>replaceAll("(\\D)\\.", "$1 ")</code> does */
+    private static String spaceOutDotsBeforeWords(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i + 1 < chars.length; i++) {
+            if (chars[i + 1] == '.' && !isDigit(chars[i])) chars[++i] = ' ';
+        }
+        return new String(chars);
+    }
+
+    /** Replace each '.' that precedes a non-digit with a space, as <code>replaceAll("\\.(\\D)", " $1")</code> does */
+    private static String spaceOutDotsAfterWords(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i + 1 < chars.length; i++) {
+            if (chars[i] == '.' && !isDigit(chars[i + 1])) chars[i++] = ' ';
+        }
+        return new String(chars);
+    }
+
+    private static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
+}
@@ -0,0 +1,59 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The strings held by the elements of a catalog, each kept once however many elements use it.
+ * Manifests repeat the same names, directives and version ranges many times over,
+ * so the elements hold the pooled copy of each string they keep, and the rest can be collected.
+ * Unlike {@link String#intern()}, the pool is dropped with its catalog.
+ * It is safe to use from the threads that parse the manifests.
+ */
+public final class StringPool {
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder duplicateBytes = new LongAdder();
+
+    /** @return the pooled string equal to the specified one, or <code>null</code> for <code>null</code> */
+    public String intern(String s) {
+        if (null == s) return null;
+        String pooled = strings.putIfAbsent(s, s);
+        if (null == pooled) return s;
+        duplicates.increment();
+        duplicateBytes.add(sizeOf(s));
+        return pooled;
+    }
+
+    /** @return the number of distinct strings in the pool */
+    public int size() { return strings.size(); }
+
+    /** @return an estimate of the heap used by the strings in the pool */
+    public long bytes() { return strings.keySet().stream().mapToLong(StringPool::sizeOf).sum(); }
+
+    /** @return how many copies of pooled strings were handed in, and could be dropped */
+    public long duplicates() { return duplicates.sum(); }
+
+    /** @return an estimate of the heap used by those copies */
+    public long duplicateBytes() { return duplicateBytes.sum(); }
+
+    /** Estimate the size of a string on a 64-bit JVM with compressed pointers and compact strings */
+    private static long sizeOf(String s) {
+        boolean latin1 = s.chars().allMatch(c -> c < 0x100);
+        long array = 16 + (long) s.length() * (latin1 ? 1 : 2);
+        return 24 + ((array + 7) & ~7);
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,10 +12,14 @@
  */
 package io.openliberty.inspect.feature;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 import org.osgi.framework.VersionRange;
 
 import io.openliberty.inspect.Bundle;
 import io.openliberty.inspect.Element;
+import io.openliberty.inspect.Resolver;
 
 public class BundleSpec implements ContentSpec {
     private final static VersionRange DEFAULT_RANGE = VersionRange.valueOf("0.0");
@@ -24,9 +28,30 @@ public class BundleSpec implements ContentSpec {
 
     BundleSpec(ManifestValueEntry ve) {
         this.symbolicName = ve.id;
-        this.versionRange = ve.getQualifierIfPresent("version").map(VersionRange::valueOf).orElse(DEFAULT_RANGE);
+        this.versionRange = ve.getQualifierIfPresent(Qualifier.VERSION).map(VersionRange::valueOf).orElse(DEFAULT_RANGE);
+    }
+
+    /** @param versionRange the range of acceptable versions, or <code>null</code> to accept any version */
+    public BundleSpec(String symbolicName, VersionRange versionRange) {
+        this.symbolicName = symbolicName;
+        this.versionRange = null == versionRange ? DEFAULT_RANGE : versionRange;
+    }
+
+    public String symbolicName() { return symbolicName; }
+
+    /** @return the range of acceptable versions, or nothing if any version is acceptable */
+    public Optional<VersionRange> versionRange() {
+        return DEFAULT_RANGE == versionRange ? Optional.empty() : Optional.of(versionRange);
     }
 
+    @Override
+    public Optional<Element> findBestMatch(Resolver resolver) {
+        return resolver.highestVersion(symbolicName, versionRange);
+    }
+
+    @Override
+    public Stream<String> candidateNames() { return Stream.of(symbolicName); }
+
     @Override
     public boolean matches(Element e) {
         return e instanceof Bundle && symbolicName.equals(e.symbolicName()) && versionRange.includes(e.version());
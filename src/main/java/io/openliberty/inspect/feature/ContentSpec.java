@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -14,16 +14,23 @@ package io.openliberty.inspect.feature;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import io.openliberty.inspect.Element;
+import io.openliberty.inspect.Resolver;
 
 public interface ContentSpec {
-    default Optional<Element> findBestMatch(Collection<Element> elements) {
-        return elements.stream()
+    default Optional<Element> findBestMatch(Resolver resolver) {
+        return candidateNames()
+                .map(resolver::candidates)
+                .flatMap(Collection::stream)
                 .filter(this::matches)
                 .max(this::compareMatches);
     }
 
+    /** @return the symbolic names of every element that could match this spec */
+    Stream<String> candidateNames();
+
     boolean matches(Element e);
 
     int compareMatches(Element f1, Element f2);
@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -16,13 +16,10 @@ import java.io.FileInputStream;
 import java.io.IOError;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Properties;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 import java.util.regex.MatchResult;
@@ -33,9 +30,12 @@ import java.util.stream.Stream;
 import org.osgi.framework.Version;
 
 import io.openliberty.inspect.Element;
+import io.openliberty.inspect.Resolver;
+import io.openliberty.inspect.StringPool;
 import io.openliberty.inspect.Visibility;
 import static io.openliberty.inspect.Visibility.PUBLIC;
 import static io.openliberty.inspect.Visibility.UNKNOWN;
+import static io.openliberty.inspect.feature.ManifestKey.IBM_API_PACKAGE;
 import static io.openliberty.inspect.feature.ManifestKey.IBM_PROVISION_CAPABILITY;
 import static io.openliberty.inspect.feature.ManifestKey.IBM_SHORTNAME;
 import static io.openliberty.inspect.feature.ManifestKey.SUBSYSTEM_CONTENT;
@@ -52,51 +52,100 @@ public final class Feature implements Element {
     private final Version version;
     private final Visibility visibility;
     private final List<ContentSpec> contents;
-    private final Manifest manifest;
     private final boolean isAutoFeature;
     private final List<List<String>> autoFeatureDetails;
+    private final List<String> apiPackages;
 
-    private final String desc;
+    // a localized description is looked up in a properties file, so it stays null until it is needed
+    private final boolean isLocalized;
+    private volatile String desc;
 
     public Feature(Path path) {
+        this(path, new StringPool());
+    }
+
+    public Feature(Path path, StringPool strings) {
+        this(path, readAttributes(path), strings);
+    }
+
+    /** @param strings the pool of the catalog the feature belongs to, which supplies every string it keeps */
+    public Feature(Path path, Attributes attributes, StringPool strings) {
         this.path = path.normalize();
-        final Attributes attributes;
-        try (InputStream in = new FileInputStream(path.toFile())) {
-            attributes = new Manifest(in).getMainAttributes();
-        } catch (IOException e) {
-            throw new IOError(e);
-        }
-        Optional<ManifestValueEntry> symbolicName = SUBSYSTEM_SYMBOLICNAME.parseValues(attributes).findFirst();
+        Optional<ManifestValueEntry> symbolicName = parseValues(SUBSYSTEM_SYMBOLICNAME, attributes, strings).findFirst();
         this.fullName = symbolicName.orElseThrow(Error::new).id;
-        this.shortName = IBM_SHORTNAME.get(attributes).orElse(null);
+        this.shortName = strings.intern(IBM_SHORTNAME.get(attributes).orElse(null));
         this.visibility = symbolicName.map(Feature::getVisibility).orElse(UNKNOWN);
         this.name = visibility == PUBLIC ? shortName().orElse(fullName) : fullName;
-        this.contents = SUBSYSTEM_CONTENT.parseValues(attributes)
-                .map(Feature::createSpec)
+        this.contents = parseValues(SUBSYSTEM_CONTENT, attributes, strings)
+                .map(ve -> createSpec(ve, strings))
                 .filter(Objects::nonNull)
                 .collect(toUnmodifiableList());
         this.isAutoFeature = IBM_PROVISION_CAPABILITY.isPresent(attributes);
-        this.autoFeatureDetails = IBM_PROVISION_CAPABILITY.parseValues(attributes)
-                .map(ve -> ve.getQualifier("filter"))
-                .map(this::parseFeaturesFromLdapExpression)
+        this.autoFeatureDetails = parseValues(IBM_PROVISION_CAPABILITY, attributes, strings)
+                .map(ve -> ve.getQualifier(Qualifier.FILTER))
+                .map(filter -> parseFeaturesFromLdapExpression(filter, strings))
+                .toList();
+        this.apiPackages = parseValues(IBM_API_PACKAGE, attributes, strings)
+                .map(ve -> ve.id)
                 .toList();
         this.version = SUBSYSTEM_VERSION.get(attributes).map(Version::new).orElse(Version.emptyVersion);
+        // work out the description now, unless it has to be looked up, so no header need be kept
+        String description = SUBSYSTEM_DESCRIPTION.apply(attributes);
+        if (null == description) description = getPrivateFeatureDescription(attributes);
+        else if (description.contains("%description")) description = null;
+        this.isLocalized = null == description;
+        this.desc = strings.intern(description);
+    }
+
+    /**
+     * Create a feature from content already parsed from its manifest, e.g. when reading a saved catalog or cache.
+     * @param description the description worked out when the feature was first loaded,
+     *                    or <code>null</code> to look it up in the installation when it is needed
+     */
+    public Feature(Path path, String fullName, String shortName, Visibility visibility, Version version,
+                   List<ContentSpec> contents, boolean isAutoFeature, List<List<String>> autoFeatureDetails,
+                   List<String> apiPackages, String description) {
+        this.path = path.normalize();
+        this.fullName = fullName;
+        this.shortName = shortName;
+        this.visibility = visibility;
+        this.name = visibility == PUBLIC ? shortName().orElse(fullName) : fullName;
+        this.version = version;
+        this.contents = List.copyOf(contents);
+        this.isAutoFeature = isAutoFeature;
+        this.autoFeatureDetails = List.copyOf(autoFeatureDetails);
+        this.apiPackages = List.copyOf(apiPackages);
+        this.isLocalized = null == description;
+        this.desc = description;
+    }
+
+    /** Parse a header, reporting any problem against this feature's manifest */
+    private Stream<ManifestValueEntry> parseValues(ManifestKey key, Attributes attributes, StringPool strings) {
         try {
-            this.manifest = new Manifest(path.toUri().toURL().openStream());
+            return key.parseValues(attributes, strings);
+        } catch (HeaderParseException e) {
+            throw e.in(path);
+        }
+    }
+
+    public static Attributes readAttributes(Path path) {
+        try (InputStream in = new FileInputStream(path.toFile())) {
+            return new Manifest(in).getMainAttributes();
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new IOError(e);
         }
-        this.desc = SUBSYSTEM_DESCRIPTION.get(attributes)
-                .map(this::resolveDescription)
-                .orElseGet(this::getPrivateFeatureDescription);
     }
 
-    private List<String> parseFeaturesFromLdapExpression(String ldapExpr) {
+    private static List<String> parseFeaturesFromLdapExpression(String ldapExpr, StringPool strings) {
         return LDAP_FEATURE_IDS.matcher(ldapExpr).results()
                 .map(MatchResult::group)
+                .map(strings::intern)
                 .toList();
     }
 
+    /** @return the content of this feature that is bundles or other features, in manifest order */
+    public List<ContentSpec> contents() { return contents; }
+
     public List<List<String>> getAutoFeatureDetails() {
         return autoFeatureDetails;
     }
@@ -104,7 +153,7 @@ public final class Feature implements Element {
 
     private static Visibility getVisibility(ManifestValueEntry symbolicName) {
         try {
-            String vis = symbolicName.getQualifier("visibility").toUpperCase();
+            String vis = symbolicName.getQualifier(Qualifier.VISIBILITY).toUpperCase();
             return Visibility.valueOf(vis);
         } catch (NullPointerException|IllegalArgumentException e) {
             return null;
@@ -116,23 +165,26 @@ public final class Feature implements Element {
     public Optional<String> shortName() { return Optional.ofNullable(shortName); }
     public Visibility visibility() { return this.visibility; }
     public String name() { return name; }
-    public String description() { return this.desc; }
-    private String resolveDescription(String desc) {
-        if (! desc.contains("%description")) return desc;
-        try {
-            return getPublicFeatureDescription();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    /** @return whether the description comes from a properties file rather than the manifest */
+    public boolean hasLocalizedDescription() { return isLocalized; }
+    public String description() {
+        // only read the properties file for a localized description when it is needed
+        if (null == desc) desc = getPublicFeatureDescription();
+        return desc;
     }
     public Version version() { return version; }
     public Stream<String> aka() { return Stream.of(shortName); }
     public boolean isAutoFeature() { return isAutoFeature; }
+    public Stream<String> apiPackages() { return apiPackages.stream(); }
 
-    public Stream<Element> findDependencies(Collection<Element> elements) {
+    public Stream<Element> findDependencies(Resolver resolver) {
         return contents.stream()
-                .map(spec -> spec.findBestMatch(elements))
-                .flatMap(Optional::stream);
+                .flatMap(spec -> spec.findBestMatch(resolver)
+                        .map(Stream::of)
+                        .orElseGet(() -> {
+                            resolver.unresolved(this, spec);
+                            return Stream.empty();
+                        }));
     }
 
     public boolean hasFeatureDependencies() { return contents.stream().filter(FeatureSpec.class::isInstance).findAny().isPresent(); }
@@ -194,11 +246,11 @@ public final class Feature implements Element {
         return symbolicName();
     }
 
-    static ContentSpec createSpec(ManifestValueEntry ve) {
-        String type = ve.getQualifierOrDefault("type", "bundle");
+    static ContentSpec createSpec(ManifestValueEntry ve, StringPool strings) {
+        String type = ve.getQualifierOrDefault(Qualifier.TYPE, "bundle");
         switch (type) {
             case "osgi.subsystem.feature":
-                return new FeatureSpec(ve);
+                return new FeatureSpec(ve, strings);
             case "bundle":
                 return new BundleSpec(ve);
             case "boot.jar":
@@ -210,27 +262,19 @@ public final class Feature implements Element {
         }
     }
 
-    private String getPublicFeatureDescription() throws IOException {
+    private String getPublicFeatureDescription() {
         Path featuresRoot = path.getParent();
         Path propsFile = featuresRoot.resolve("l10n/" + symbolicName() + ".properties");
-        if (!Files.exists(propsFile)) return "Feature description missing";
-        Path propertiesFile = validate(propsFile);
-        Properties prop = new Properties();
-        prop.load(new FileInputStream(propertiesFile.toString()));
-        return prop.getProperty("description");
+        var properties = Localization.properties(propsFile);
+        // a properties file without a description gives null, not the placeholder for a missing file
+        return properties.isPresent() ? properties.get().getProperty("description") : "Feature description missing";
     }
 
-    private String getPrivateFeatureDescription() {
-        Attributes attributes = manifest.getMainAttributes();
-        String val = attributes.getValue("Subsystem-SymbolicName");
+    private String getPrivateFeatureDescription(Attributes attributes) {
+        String val = SUBSYSTEM_SYMBOLICNAME.apply(attributes);
         String symbolicNameAttr =  (symbolicName().equals(val)) ? "" : val.substring(symbolicName().length() + 2);
-        if(isAutoFeature()) return Optional.of(symbolicNameAttr).filter(String::isBlank).map(s -> s+"\n").orElse("") + attributes.getValue("IBM-Provision-Capability");
+        if(isAutoFeature()) return Optional.of(symbolicNameAttr).filter(String::isBlank).map(s -> s+"\n").orElse("") + IBM_PROVISION_CAPABILITY.apply(attributes);
         if(!symbolicNameAttr.isEmpty()) return symbolicNameAttr;
         return "";
     }
-
-    private static Path validate(Path path) {
-        if (Files.exists(path)) return path;
-        throw new Error("No properties file found: " + path.toFile().getAbsolutePath());
-    }
 }
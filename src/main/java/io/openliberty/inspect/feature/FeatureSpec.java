@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -20,23 +20,33 @@ import java.util.List;
 import java.util.stream.Stream;
 
 import io.openliberty.inspect.Element;
+import io.openliberty.inspect.StringPool;
 
 public class FeatureSpec implements ContentSpec {
     // first item is the preferred version, the rest are tolerated
     private final List<String> symbolicNames;
 
-    public FeatureSpec(ManifestValueEntry ve) {
+    public FeatureSpec(ManifestValueEntry ve, StringPool strings) {
         String prefix = ve.id.replaceFirst("-[^-]*$", "-");
-        var tolerated = ve.getQualifierIfPresent("ibm.tolerates")
+        var tolerated = ve.getQualifierIfPresent(Qualifier.IBM_TOLERATES)
                 .map(s -> s.split(","))
                 .stream()
                 .flatMap(Arrays::stream)
-                .map(prefix::concat);
+                .map(prefix::concat)
+                .map(strings::intern);
         this.symbolicNames = Stream.concat(Stream.of(ve.id), tolerated)
                 .sequential()
                 .collect(toUnmodifiableList());
     }
 
+    /** @param symbolicNames the preferred feature first, followed by any it will tolerate instead */
+    public FeatureSpec(List<String> symbolicNames) {
+        this.symbolicNames = List.copyOf(symbolicNames);
+    }
+
+    @Override
+    public Stream<String> candidateNames() { return symbolicNames.stream(); }
+
     @Override
     public boolean matches(Element e) {
         return e instanceof Feature && symbolicNames.contains(e.symbolicName());
@@ -0,0 +1,54 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect.feature;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/** A manifest header that does not follow the OSGi header syntax, and where in it the problem was found */
+public class HeaderParseException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+    private final Path file;
+    private final String header;
+    private final String value;
+    private final int offset;
+    private final String problem;
+
+    HeaderParseException(String header, String value, int offset, String problem) {
+        this(null, header, value, offset, problem);
+    }
+
+    private HeaderParseException(Path file, String header, String value, int offset, String problem) {
+        super((null == file ? "" : file + ": ") + problem + " at offset " + offset + " of " + header + " header: " + value);
+        this.file = file;
+        this.header = header;
+        this.value = value;
+        this.offset = offset;
+        this.problem = problem;
+    }
+
+    /** @return the same problem, reported against the specified manifest file */
+    HeaderParseException in(Path file) { return new HeaderParseException(file, header, value, offset, problem); }
+
+    /** @return the manifest file the header came from, if known */
+    public Optional<Path> file() { return Optional.ofNullable(file); }
+
+    public String header() { return header; }
+
+    public String value() { return value; }
+
+    /** @return the index of the character in the value where the problem was found */
+    public int offset() { return offset; }
+
+    public String problem() { return problem; }
+}
@@ -0,0 +1,150 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect.feature;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.openliberty.inspect.StringPool;
+
+/**
+ * Splits an OSGi manifest header into its entries in a single pass, e.g.
+ * <code>com.ibm.ws.anno; version="[1,2)", com.ibm.websphere.appserver.javaeeCompatible-9.0; type="osgi.subsystem.feature"</code>.
+ * Each entry is an id followed by attributes (<code>key=value</code>) and directives (<code>key:=value</code>), separated by semicolons.
+ * Separators within quotes, or escaped with a backslash, are part of the text.
+ * The parser works on offsets into the header, and only takes substrings for the id and the qualifiers that are kept.
+ */
+final class HeaderParser {
+    private final String header;
+    private final String value;
+    private final StringPool strings;
+    private final List<ManifestValueEntry> entries = new ArrayList<>();
+    private int pos;
+
+    private HeaderParser(String header, String value, StringPool strings) {
+        this.header = header;
+        this.value = value;
+        this.strings = strings;
+    }
+
+    /**
+     * @param header the name of the header, to report any problem against
+     * @throws HeaderParseException if the value is not a well-formed OSGi header
+     */
+    static List<ManifestValueEntry> parse(String header, String value, StringPool strings) {
+        return new HeaderParser(header, value, strings).parse();
+    }
+
+    private List<ManifestValueEntry> parse() {
+        while (pos < value.length()) parseEntry();
+        return entries;
+    }
+
+    /** Parse an entry, and the comma that ends it, if any */
+    private void parseEntry() {
+        int start = pos;
+        int end = scan();
+        String[] qualifiers = new String[Qualifier.count()];
+        // an entry with no text at all, as from a trailing comma, is ignored
+        if (trimStart(start, end) == end && !atSemicolon()) {
+            pos++;
+            return;
+        }
+        String id = text(start, end, "Missing name");
+        while (atSemicolon()) {
+            pos++;
+            start = pos;
+            end = scan();
+            if (trimStart(start, end) == end) continue;
+            parseQualifier(start, end, qualifiers);
+        }
+        entries.add(new ManifestValueEntry(id, qualifiers));
+        pos++;
+    }
+
+    private void parseQualifier(int start, int end, String[] qualifiers) {
+        int equals = find('=', start, end);
+        if (equals < 0) throw error(trimStart(start, end), "Expected '=' or ':=' after attribute or directive name");
+        // a directive is separated from its value by ':=' and an attribute by '='
+        int keyEnd = equals > start && value.charAt(equals - 1) == ':' ? equals - 1 : equals;
+        int keyStart = trimStart(start, keyEnd);
+        keyEnd = trimEnd(keyStart, keyEnd);
+        if (keyStart == keyEnd) throw error(equals, "Missing attribute or directive name");
+        Qualifier q = Qualifier.of(value, keyStart, keyEnd);
+        // a qualifier that is not kept is skipped, and a repeated one takes the last value given
+        if (null == q) return;
+        int valueStart = trimStart(equals + 1, end);
+        int valueEnd = trimEnd(valueStart, end);
+        if (valueEnd - valueStart > 1 && value.charAt(valueStart) == '"' && value.charAt(valueEnd - 1) == '"') {
+            valueStart++;
+            valueEnd--;
+        }
+        qualifiers[q.ordinal()] = strings.intern(value.substring(valueStart, valueEnd));
+    }
+
+    /**
+     * Advance to the next semicolon or comma that is not quoted or escaped, or to the end of the value.
+     * @return the position reached
+     */
+    private int scan() {
+        int quoteStart = -1;
+        for (; pos < value.length(); pos++) {
+            char c = value.charAt(pos);
+            if (c == '\\') {
+                pos++;
+            } else if (c == '"') {
+                quoteStart = quoteStart < 0 ? pos : -1;
+            } else if (quoteStart < 0 && (c == ';' || c == ',')) {
+                return pos;
+            }
+        }
+        if (quoteStart >= 0) throw error(quoteStart, "Unterminated quoted string");
+        pos = value.length();
+        return pos;
+    }
+
+    private boolean atSemicolon() { return pos < value.length() && value.charAt(pos) == ';'; }
+
+    /** @return the position of the first unquoted occurrence of the character in the range, or -1 */
+    private int find(char target, int start, int end) {
+        boolean quoted = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '"') quoted = !quoted;
+            else if (!quoted && c == target) return i;
+        }
+        return -1;
+    }
+
+    private String text(int start, int end, String problem) {
+        int from = trimStart(start, end);
+        int to = trimEnd(from, end);
+        if (from == to) throw error(from, problem);
+        return strings.intern(value.substring(from, to));
+    }
+
+    private int trimStart(int start, int end) {
+        while (start < end && Character.isWhitespace(value.charAt(start))) start++;
+        return start;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) end--;
+        return end;
+    }
+
+    private HeaderParseException error(int offset, String problem) {
+        return new HeaderParseException(header, value, offset, problem);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect.feature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * A bounded, shared cache of the l10n properties files that hold feature descriptions.
+ * Files are only read when a description is first asked for.
+ */
+enum Localization {
+    ;
+    private static final int MAX_CACHED_FILES = 64;
+    private static final Map<Path, Optional<Properties>> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, Optional<Properties>> eldest) {
+                    return size() > MAX_CACHED_FILES;
+                }
+            });
+
+    /** @return the properties loaded from the specified file, or nothing if there is no such file */
+    static Optional<Properties> properties(Path file) {
+        return CACHE.computeIfAbsent(file.toAbsolutePath().normalize(), Localization::load);
+    }
+
+    private static Optional<Properties> load(Path file) {
+        if (!Files.exists(file)) return Optional.empty();
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Optional.of(props);
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -16,11 +16,10 @@ import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.jar.Attributes;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+import io.openliberty.inspect.StringPool;
+
 @SuppressWarnings("unused")
 enum ManifestKey implements Function<Attributes, String>, Predicate<Attributes> {
     CREATED_BY("Created-By"),
@@ -56,7 +55,6 @@ enum ManifestKey implements Function<Attributes, String>, Predicate<Attributes>
     SUBSYSTEM_VERSION("Subsystem-Version"),
     TOOL("Tool"),
     WLP_ACTIVATION_TYPE("WLP-Activation-Type");
-    private static final Pattern ELEMENT_PATTERN = Pattern.compile("(([^\",\\\\]|\\\\.)+|\"([^\\\\\"]|\\\\.)*+\")+");
     final Attributes.Name name;
 
     ManifestKey(String name) {
@@ -75,13 +73,11 @@ enum ManifestKey implements Function<Attributes, String>, Predicate<Attributes>
         return Optional.ofNullable(feature.getValue(name));
     }
 
-    Stream<ManifestValueEntry> parseValues(Attributes feature) {
+    /** @throws HeaderParseException if the header is present but malformed */
+    Stream<ManifestValueEntry> parseValues(Attributes feature, StringPool strings) {
         return get(feature)
-                .map(ELEMENT_PATTERN::matcher)
-                .map(Matcher::results)
-                .orElse(Stream.empty())
-                .map(MatchResult::group)
-                .map(ManifestValueEntry::new);
+                .map(value -> HeaderParser.parse(name.toString(), value, strings).stream())
+                .orElse(Stream.empty());
     }
 
     public String apply(Attributes feature) {
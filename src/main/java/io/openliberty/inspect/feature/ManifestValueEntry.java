@@ -1,6 +1,6 @@
 /*
  * =============================================================================
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022,2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,53 +12,39 @@
  */
 package io.openliberty.inspect.feature;
 
-import static java.util.Collections.unmodifiableMap;
-
-import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.StringJoiner;
 
+/**
+ * One comma-separated entry in a manifest header: an id followed by semicolon-separated qualifiers.
+ * Only the qualifiers the explorer reads are kept, in a flat array indexed by {@link Qualifier}.
+ * Entries are made by {@link HeaderParser}.
+ */
 class ManifestValueEntry {
-    private static final String TEXT = "([^\";\\\\]|\\\\.)+";
-    private static final String QUOTED_TEXT = "\"([^\\\\\"]|\\\\.)+\"";
-    private static final Pattern ATOM_PATTERN = Pattern.compile(String.format("(%s|%s)+", TEXT, QUOTED_TEXT));
     final String id;
-    private final Map<? extends String, String> qualifiers;
+    private final String[] qualifiers;
 
-    ManifestValueEntry(String text) {
-        Matcher m = ATOM_PATTERN.matcher(text);
-        if (!m.find()) throw new Error("Unable to parse manifest value into constituent parts: " + text);
-        this.id = m.group();
-        Map<String, String> map = new TreeMap<>();
-        while (m.find(m.end())) {
-            String[] parts = m.group().split(":?=", 2);
-            if (parts.length == 1) {
-                System.out.println(m.group());
-                System.out.flush();
-                System.exit(1);
-            }
-            String oldValue = map.put(parts[0].trim(), parts[1].trim().replaceFirst("^\"(.*)\"$", "$1"));
-            if (null != oldValue)
-                System.err.printf("WARNING: duplicate metadata key '%s' detected in string '%s'", parts[0], text);
-        }
-        this.qualifiers = unmodifiableMap(map);
+    ManifestValueEntry(String id, String[] qualifiers) {
+        this.id = id;
+        this.qualifiers = qualifiers;
     }
 
-    String getQualifier(String key) {
-        return qualifiers.get(key);
+    String getQualifier(Qualifier key) {
+        return qualifiers[key.ordinal()];
     }
 
-    String getQualifierOrDefault(String key, String defaultValue) {
-        return qualifiers.getOrDefault(key, defaultValue);
+    String getQualifierOrDefault(Qualifier key, String defaultValue) {
+        String value = qualifiers[key.ordinal()];
+        return null == value ? defaultValue : value;
     }
 
-    Optional<String> getQualifierIfPresent(String key) {
-        return Optional.ofNullable(qualifiers.get(key));
+    Optional<String> getQualifierIfPresent(Qualifier key) {
+        return Optional.ofNullable(qualifiers[key.ordinal()]);
     }
 
     public String toString() {
-        return String.format("%88s : %s", id, qualifiers);
+        var joiner = new StringJoiner(", ", "{", "}");
+        for (Qualifier q : Qualifier.values()) if (null != qualifiers[q.ordinal()]) joiner.add(q.key + "=" + qualifiers[q.ordinal()]);
+        return String.format("%88s : %s", id, joiner);
     }
 }
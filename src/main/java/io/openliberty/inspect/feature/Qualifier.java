@@ -0,0 +1,41 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect.feature;
+
+/**
+ * The attributes and directives of a manifest value entry that the explorer reads,
+ * e.g. the <code>type</code> in <code>com.ibm.websphere.appserver.servlet-6.0; type="osgi.subsystem.feature"</code>.
+ * An entry keeps the value of each one in the slot given by its ordinal.
+ */
+enum Qualifier {
+    FILTER("filter"),
+    IBM_TOLERATES("ibm.tolerates"),
+    TYPE("type"),
+    VERSION("version"),
+    VISIBILITY("visibility");
+
+    private static final Qualifier[] VALUES = values();
+    final String key;
+
+    Qualifier(String key) {
+        this.key = key;
+    }
+
+    /** @return the qualifier whose key is the specified part of the text, or <code>null</code> if the explorer does not read it */
+    static Qualifier of(String text, int start, int end) {
+        for (Qualifier q : VALUES) if (q.key.length() == end - start && text.startsWith(q.key, start)) return q;
+        return null;
+    }
+
+    static int count() { return VALUES.length; }
+}
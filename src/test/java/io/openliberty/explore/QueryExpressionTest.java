@@ -0,0 +1,99 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Checks how {@link QueryExpression} parses and combines patterns, using made-up sets of element ids for the patterns. */
+class QueryExpressionTest {
+    private static final int SIZE = 8;
+    private static final Map<String, BitSet> PATTERNS = Map.of(
+            "a", ids(0, 1, 2, 3),
+            "b", ids(2, 3, 4, 5),
+            "c", ids(3, 5, 6),
+            "x@[1.0,2.0)", ids(7));
+
+    @Test
+    void notBindsTighterThanAndWhichBindsTighterThanOr() {
+        assertEquals(ids(0, 1, 2, 3, 5), evaluate("a OR b AND c"));
+        assertEquals(ids(2, 3, 5, 6), evaluate("a AND b OR c"));
+        assertEquals(ids(4, 5), evaluate("NOT a AND b"));
+        assertEquals(ids(0, 1, 2, 3, 7), evaluate("a OR NOT b AND NOT c"));
+    }
+
+    @Test
+    void parenthesesGroup() {
+        assertEquals(ids(3, 5), evaluate("(a OR b) AND c"));
+        assertEquals(ids(6, 7), evaluate("NOT (a OR b)"));
+        assertEquals(ids(3), evaluate("((a) AND (b AND (c)))"));
+        assertEquals(ids(0, 1, 2, 3), evaluate("NOT NOT a"));
+    }
+
+    @Test
+    void keepsTheClosingParenthesisOfAVersionRange() {
+        assertEquals(ids(3, 7), evaluate("(c AND a) OR (x@[1.0,2.0))"));
+        assertEquals(ids(7), evaluate("x@[1.0,2.0) AND NOT a"));
+    }
+
+    @Test
+    void primaryMatchesAreThoseOfPatternsThatAreNotNegated() {
+        QueryExpression.Selection selection = QueryExpression.parse(List.of("a AND NOT c")).evaluate(QueryExpressionTest::select, SIZE);
+        assertEquals(ids(0, 1, 2), selection.all);
+        assertEquals(ids(0, 1, 2), selection.primary);
+        assertEquals(ids(), QueryExpression.parse(List.of("NOT a")).evaluate(QueryExpressionTest::select, SIZE).primary);
+    }
+
+    @Test
+    void recognisesOnlyUpperCaseOperators() {
+        assertTrue(QueryExpression.isExpression(List.of("a", "AND", "b")));
+        assertTrue(QueryExpression.isExpression(List.of("NOT", "a")));
+        assertTrue(QueryExpression.isExpression(List.of("(a)")));
+        assertFalse(QueryExpression.isExpression(List.of("a", "and", "b")));
+        assertFalse(QueryExpression.isExpression(List.of("a/**", "!b")));
+        assertFalse(QueryExpression.isExpression(List.of("x@[1.0,2.0)")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a AND", "OR a", "a b", "(a OR b", "a OR b)", "NOT", "()", "a AND ( )", "a NOT b", "AND"})
+    void rejectsMalformedExpressions(String text) {
+        assertThrows(IllegalArgumentException.class, () -> QueryExpression.parse(List.of(text)));
+    }
+
+    private static BitSet evaluate(String text) {
+        return QueryExpression.parse(List.of(text.split(" "))).evaluate(QueryExpressionTest::select, SIZE).all;
+    }
+
+    // every pattern matches its elements directly, and a fresh copy is returned each time, as evaluation modifies it
+    private static QueryExpression.Selection select(String pattern) {
+        BitSet ids = PATTERNS.get(pattern);
+        if (null == ids) throw new AssertionError("Unexpected pattern " + pattern);
+        return new QueryExpression.Selection((BitSet) ids.clone(), (BitSet) ids.clone());
+    }
+
+    private static BitSet ids(int... ids) {
+        var result = new BitSet();
+        for (int id : ids) result.set(id);
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.explore;
+
+import io.openliberty.inspect.Catalog;
+import io.openliberty.inspect.TestInstall;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static io.openliberty.inspect.ElementGraph.Direction.FORWARD;
+import static io.openliberty.inspect.ElementGraph.Direction.REVERSE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that pruning exclusions with a {@link QueryPlan} selects the same elements as applying every exclusion in turn,
+ * each one seeing what the earlier ones removed.
+ */
+class QueryPlanTest {
+    private static final int FEATURES = 24;
+
+    @TempDir
+    Path root;
+
+    @Test
+    void prunedExclusionsSelectWhatSequentialExclusionsSelect() throws IOException {
+        var random = new Random(42);
+        Catalog catalog = randomCatalog(random);
+        for (int i = 0; i < 500; i++) {
+            List<QueryPlan.Term> includes = randomTerms(random, "include", 1 + random.nextInt(3));
+            List<QueryPlan.Term> excludes = randomTerms(random, "exclude", random.nextInt(6));
+            BitSet expected = sequentialExclusions(catalog, excludes);
+            BitSet actual = new QueryPlan(catalog, includes, excludes).excluded();
+            String query = "query " + i;
+            BitSet extra = (BitSet) actual.clone();
+            extra.andNot(expected);
+            assertTrue(extra.isEmpty(), query + " excludes " + extra + " which sequential exclusion does not");
+            assertEquals(selected(catalog, includes, expected), selected(catalog, includes, actual), query);
+        }
+    }
+
+    /** Write features that each include a few others, at random, so the graph has chains, diamonds and cycles */
+    private Catalog randomCatalog(Random random) throws IOException {
+        var install = new TestInstall(root);
+        for (int f = 0; f < FEATURES; f++) {
+            var content = new StringJoiner(", ");
+            for (int i = random.nextInt(4); i > 0; i--) {
+                content.add("test.f" + random.nextInt(FEATURES) + "-1.0; type=\"osgi.subsystem.feature\"");
+            }
+            install.feature("f" + f + "-1.0", "public", content.toString());
+        }
+        return new Catalog(root, false);
+    }
+
+    private static List<QueryPlan.Term> randomTerms(Random random, String text, int count) {
+        var result = new ArrayList<QueryPlan.Term>();
+        for (int i = 0; i < count; i++) {
+            var matches = new BitSet();
+            for (int j = 1 + random.nextInt(2); j > 0; j--) matches.set(random.nextInt(FEATURES));
+            result.add(new QueryPlan.Term(text + i, matches, random.nextBoolean(), random.nextBoolean()));
+        }
+        return result;
+    }
+
+    /** @return the elements removed by applying every exclusion in order, as the explorer did before it planned them */
+    private static BitSet sequentialExclusions(Catalog catalog, List<QueryPlan.Term> excludes) {
+        BitSet removed = new BitSet();
+        for (QueryPlan.Term term : excludes) {
+            BitSet result = (BitSet) term.matches.clone();
+            if (term.forward) result.or(catalog.reachable(term.matches, FORWARD, removed));
+            if (term.reverse) result.or(catalog.reachable(term.matches, REVERSE, removed));
+            removed.or(result);
+        }
+        return removed;
+    }
+
+    /** @return what the include patterns select, and what lies between their matches, when the specified elements are absent */
+    private static BitSet selected(Catalog catalog, List<QueryPlan.Term> includes, BitSet excluded) {
+        BitSet result = new BitSet();
+        BitSet matches = new BitSet();
+        for (QueryPlan.Term term : includes) {
+            matches.or(term.matches);
+            result.or(term.matches);
+            if (term.forward) result.or(catalog.reachable(term.matches, FORWARD, excluded));
+            if (term.reverse) result.or(catalog.reachable(term.matches, REVERSE, excluded));
+        }
+        result.or(catalog.between(matches, excluded));
+        result.andNot(excluded);
+        return result;
+    }
+}
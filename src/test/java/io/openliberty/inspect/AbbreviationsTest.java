@@ -0,0 +1,127 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Checks that {@link Abbreviations} gives the names the same abbreviations as the trie-based code it replaced. */
+class AbbreviationsTest {
+    private static final String[] PACKAGES = {"com.ibm.ws.", "io.openliberty.", "com.ibm.ws.org.", "io.openliberty.com.", "org.", ""};
+    private static final String[] WORDS = {"kernel", "boot", "kernelcore", "jdbc", "jdbc4", "servlet", "apache", "aries", "util", "a", "b"};
+    private static final String[] VERSIONS = {"", "_1.0.10", "_1.0.63", "_1.2.0", "_10.0.1", "-4.0", "-4.0.1", ".jar", "_1.0.5.jar"};
+
+    @Test
+    void abbreviatesLibertyNames() {
+        var names = List.of(
+                "com.ibm.ws.kernel.boot_1.0.10",
+                "com.ibm.ws.kernel.boot.core_1.0.10",
+                "com.ibm.ws.kernel.service_1.0.10",
+                "com.ibm.ws.org.apache.aries.util_1.0.10",
+                "io.openliberty.jakarta.3.0_1.0.63.jar",
+                "io.openliberty.jakarta.3.1_1.0.63.jar",
+                "com.ibm.websphere.appserver.servlet-4.0",
+                "com.ibm.websphere.appserver.servlet-5.0",
+                "com.ibm.websphere.appclient.client-1.0",
+                "com.ibm.websphere.javaee.servlet.4.0_1.0.63");
+        assertEquals(Map.of(
+                "com.ibm.ws.kernel.boot_1.0.10", "ws kernel.boot_1.0",
+                "com.ibm.ws.kernel.boot.core_1.0.10", "ws kernel.boot.core",
+                "com.ibm.ws.kernel.service_1.0.10", "ws kernel.service",
+                "com.ibm.ws.org.apache.aries.util_1.0.10", "ws apache aries",
+                "io.openliberty.jakarta.3.0_1.0.63.jar", "ol jakarta.3.0",
+                "io.openliberty.jakarta.3.1_1.0.63.jar", "ol jakarta.3.1",
+                "com.ibm.websphere.appserver.servlet-4.0", "appserver servlet-4.0",
+                "com.ibm.websphere.appserver.servlet-5.0", "appserver servlet-5.0",
+                "com.ibm.websphere.appclient.client-1.0", "appclient client-1.0",
+                "com.ibm.websphere.javaee.servlet.4.0_1.0.63", "websphere javaee"), Abbreviations.of(names));
+    }
+
+    @Test
+    void keepsTheFullNamesOfNamesThatWouldShortenToTheSame() {
+        // the old code gave up with an Error here
+        var names = List.of("com.ibm.ws.a_1.0", "ws a_1.0", "io.openliberty.b");
+        assertEquals(Map.of("com.ibm.ws.a_1.0", "com", "ws a_1.0", "ws a", "io.openliberty.b", "ol b"), Abbreviations.of(names));
+    }
+
+    @Test
+    void agreesWithTheOldCodeOnRandomNames() {
+        var random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Set<String> names = new HashSet<>();
+            for (int j = 1 + random.nextInt(40); j > 0; j--) names.add(randomName(random));
+            assertEquals(OldNameUtil.shortenNames(names), Abbreviations.of(names), "names " + names);
+        }
+    }
+
+    private static String randomName(Random random) {
+        var sb = new StringBuilder(PACKAGES[random.nextInt(PACKAGES.length)]);
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+            if (i > 1) sb.append(random.nextInt(4) == 0 ? "." + random.nextInt(3) + "." : ".");
+        }
+        return sb.append(VERSIONS[random.nextInt(VERSIONS.length)]).toString();
+    }
+
+    /**
+     * The abbreviation code that {@link Abbreviations} replaced, less its unfinished last step, which changed nothing.
+     * It shortened <code>com.ibm.websphere.</code> differently, so the random names do not use that prefix.
+     */
+    private enum OldNameUtil {
+        ;
+        private static final Pattern PREFIX_DELIMITER = Pattern.compile("(?<!\\d)\\.|(?<=\\d\\.\\d)\\.|_|\\.(?!\\d)");
+
+        private static List<String> prefixes(String name) {
+            Matcher m = PREFIX_DELIMITER.matcher(name);
+            var prefixes = new ArrayList<String>();
+            if (m.find()) {
+                prefixes.add(name.substring(0, m.start()));
+                while (m.find(m.end())) prefixes.add(name.substring(0, m.start()));
+            }
+            prefixes.add(name);
+            return prefixes;
+        }
+
+        static Map<String, String> shortenNames(Set<String> names) {
+            var trie = new PatriciaTrie<String>();
+            for (String name : names) {
+                var shorterName = name
+                        .replaceFirst("^com\\.ibm\\.ws\\.", "ws ")
+                        .replaceFirst("^io\\.openliberty\\.", "ol ")
+                        .replaceFirst("^(ws|ol) (com|org|net)\\.([^.]+)\\.", "$1 $3 ");
+                if (null != trie.put(shorterName, name)) throw new AssertionError("Names shorten to the same: " + shorterName);
+            }
+            var map = new HashMap<String, String>();
+            trie.forEach((k, v) -> map.put(v, minPrefix(k, trie)));
+            return map;
+        }
+
+        private static String minPrefix(String key, Trie<String, ?> trie) {
+            int smallestSize = trie.prefixMap(key).size();
+            return prefixes(key).stream().filter(s -> trie.prefixMap(s).size() == smallestSize).findFirst().orElseThrow();
+        }
+    }
+}
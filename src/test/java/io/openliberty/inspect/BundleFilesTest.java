@@ -0,0 +1,78 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/** Checks which bundle jars {@link BundleFiles} can identify by name alone, and which it must open. */
+class BundleFilesTest {
+    private static final Path A = Paths.get("lib/test.a_1.0.0.jar");
+    private static final Path A_AGAIN = Paths.get("dev/api/test.a_1.0.0.jar");
+    private static final Path B = Paths.get("lib/test.b_1.2.3.v2026.jar");
+    private static final Path ODD = Paths.get("lib/odd.jar");
+
+    @TempDir
+    Path root;
+
+    @Test
+    void stubsOnlyTheJarsWhoseNamesAreUnambiguous() {
+        var files = new BundleFiles(List.of(A, A_AGAIN, B, ODD));
+        assertEquals(List.of(A_AGAIN, ODD, A), files.ambiguous());
+        assertNull(files.stubFor(A));
+        assertEquals("test.b_1.2.3.v2026", files.stubFor(B).name());
+        assertEquals(List.of(B), files.stubs().map(Bundle::path).collect(Collectors.toUnmodifiableList()));
+    }
+
+    @Test
+    void reclassifiesUnchangedJarsWhoseClaimsChange() {
+        var before = new BundleFiles(List.of(A, B));
+        var after = before.update(List.of(A_AGAIN), A_AGAIN::equals);
+        // A has not changed, but another jar now claims the same name and version
+        assertEquals(List.of(A), after.reclassified(before).collect(Collectors.toUnmodifiableList()));
+        assertEquals(List.of(A), before.reclassified(after).collect(Collectors.toUnmodifiableList()));
+    }
+
+    @Test
+    void updatesAMislabelledJarLikeAFreshLoad() throws IOException {
+        var install = new TestInstall(root);
+        install.feature("a-1.0", "public", "test.a; version=\"[1,2)\", test.b; version=\"[1,2)\"");
+        Path bundle = install.bundle("test.a", "1.0.0");
+        // a jar that holds test.b, but is named as if it held test.a
+        Path mislabelled = Files.move(install.bundle("test.b", "1.0.0"), root.resolve("dev/test.a_1.0.0.jar"));
+        Catalog catalog = new Catalog(root, true, true, null);
+        // while two jars claim the name, the mislabelled one is opened and found to hold test.b
+        assertEquals(List.of(mislabelled), catalog.findMatches("test.b_*").map(Element::path).collect(Collectors.toUnmodifiableList()));
+        // once it is the only claimant, a fresh load takes its name at its word, and so must an update
+        Files.delete(bundle);
+        assertEquals(describe(new Catalog(root, true, true, null)), describe(catalog.update(List.of(bundle))));
+    }
+
+    private static List<String> describe(Catalog catalog) {
+        var graph = catalog.graph();
+        return graph.elements(catalog.select("*"))
+                .map(e -> e.path() + " " + e.symbolicName() + " -> " + graph.neighbours(graph.id(e), ElementGraph.Direction.FORWARD)
+                        .mapToObj(graph::element).map(Element::path).sorted().collect(Collectors.toUnmodifiableList()))
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
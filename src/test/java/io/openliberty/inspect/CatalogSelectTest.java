@@ -0,0 +1,67 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Checks that {@link Catalog#select(String)} splits a pattern into terms without breaking up a glob or a regex. */
+class CatalogSelectTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void splitsOnlyBetweenTerms() {
+        assertEquals(List.of("*servlet*", "vis:public", "version>=4.0"), Catalog.terms("*servlet* & vis:public&version>=4.0"));
+        assertEquals(List.of("[a&&b]-1.0", "vis:public"), Catalog.terms("[a&&b]-1.0&vis:public"));
+        assertEquals(List.of("{a&b,c}*", "auto:true"), Catalog.terms("{a&b,c}*&auto:true"));
+        assertEquals(List.of("a\\&b"), Catalog.terms("a\\&b"));
+        assertEquals(List.of("com.ibm.ws.*@[1.0,2.0)", "vis:unknown"), Catalog.terms("com.ibm.ws.*@[1.0,2.0)&vis:unknown"));
+        assertEquals(List.of("vis:public", "regex:[ab&&[b]]-1\\.0&x"), Catalog.terms("vis:public&regex:[ab&&[b]]-1\\.0&x"));
+        assertEquals(List.of(), Catalog.terms(" & &"));
+    }
+
+    @Test
+    void selectsWithAnIntersectionInAGlobClass() throws IOException {
+        Catalog catalog = catalog();
+        // as in the JDK's PathMatcher, "&&" inside a glob class is the literal characters, not an intersection
+        assertEquals(List.of("test.a-1.0", "test.b-1.0"), names(catalog, "[a&&b]-1.0"));
+        assertEquals(List.of("test.a-1.0"), names(catalog, "[a&&b]-1.0&vis:public"));
+    }
+
+    @Test
+    void selectsWithAnIntersectionInARegex() throws IOException {
+        Catalog catalog = catalog();
+        assertEquals(List.of("test.b-1.0"), names(catalog, "regex:[ab&&[b]]-1\\.0"));
+        assertEquals(List.of("test.b-1.0"), names(catalog, "vis:private&regex:[abc&&[bc]]-1\\.0"));
+    }
+
+    private Catalog catalog() throws IOException {
+        var install = new TestInstall(root);
+        install.feature("a-1.0", "public", "");
+        install.feature("b-1.0", "private", "");
+        install.feature("c-1.0", "public", "");
+        return new Catalog(root, false);
+    }
+
+    private static List<String> names(Catalog catalog, String pattern) {
+        return catalog.findMatches(pattern).map(Element::symbolicName).sorted().collect(Collectors.toUnmodifiableList());
+    }
+}
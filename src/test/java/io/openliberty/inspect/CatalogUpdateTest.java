@@ -0,0 +1,72 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/** Checks that {@link Catalog#update(java.util.Collection)} gives the same catalog as loading the changed installation afresh. */
+class CatalogUpdateTest {
+    private static final String FEATURE = "; type=\"osgi.subsystem.feature\"";
+
+    @TempDir
+    Path root;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"eager", "lazy"})
+    void updateMatchesAFreshLoad(String mode) throws IOException {
+        boolean lazy = mode.equals("lazy");
+        var install = new TestInstall(root);
+        install.feature("a-1.0", "public", "test.b-1.0" + FEATURE + ", test.x; version=\"[1,2)\"");
+        Path b = install.feature("b-1.0", "private", "test.c-1.0" + FEATURE + ", test.y; version=\"[1,2)\"");
+        Path c = install.feature("c-1.0", "private", "test.x; version=\"[1,2)\"");
+        Path x = install.bundle("test.x", "1.0.0");
+        install.feature("e-1.0", "public", "test.y; version=\"[1,2)\"");
+        Catalog catalog = new Catalog(root, true, lazy, null);
+        List<String> before = describe(catalog);
+
+        // add a feature and a bundle that resolves a missing dependency, modify a feature, and delete a feature and a bundle
+        Path d = install.feature("d-1.0", "public", "test.a-1.0" + FEATURE + ", test.x; version=\"[1,2)\"");
+        Path y = install.bundle("test.y", "1.5.0");
+        install.feature("b-1.0", "private", "test.y; version=\"[1,2)\"");
+        Files.delete(c);
+        Files.delete(x);
+        Catalog updated = catalog.update(List.of(d, y, b, c, x));
+
+        assertEquals(describe(new Catalog(root, true, lazy, null)), describe(updated));
+        assertNotEquals(before, describe(updated));
+        // the catalog that was updated is left as it was
+        assertEquals(before, describe(catalog));
+    }
+
+    /** @return each element, what it depends on, and what it could not find */
+    private static List<String> describe(Catalog catalog) {
+        var graph = catalog.graph();
+        return graph.elements(catalog.select("*"))
+                .map(e -> e.path() + " " + e.symbolicName() + " " + e.version()
+                        + " -> " + graph.neighbours(graph.id(e), ElementGraph.Direction.FORWARD).mapToObj(graph::element).map(Element::path).sorted().collect(Collectors.toUnmodifiableList())
+                        + " unresolved " + catalog.unresolvedDependencies(e))
+                .sorted()
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
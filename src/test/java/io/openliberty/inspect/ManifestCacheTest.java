@@ -0,0 +1,80 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Checks that a {@link ManifestCache} that has been damaged is ignored, rather than breaking the catalog. */
+class ManifestCacheTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void ignoresACacheThatFailsItsChecksum() throws IOException {
+        Path cacheFile = cacheFile();
+        byte[] bytes = Files.readAllBytes(cacheFile);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(cacheFile, bytes);
+        assertEquals(expected(), loaded());
+    }
+
+    @Test
+    void ignoresACacheWithAnImpossibleLength() throws IOException {
+        Path cacheFile = cacheFile();
+        byte[] bytes = Files.readAllBytes(cacheFile);
+        // the length of the installation path, just after the magic number and format version
+        for (int length : new int[]{Integer.MAX_VALUE, -2}) {
+            ByteBuffer.wrap(bytes).putInt(8, length);
+            var checksum = new CRC32();
+            checksum.update(bytes, 0, bytes.length - Long.BYTES);
+            ByteBuffer.wrap(bytes).putLong(bytes.length - Long.BYTES, checksum.getValue());
+            Files.write(cacheFile, bytes);
+            assertEquals(expected(), loaded(), "length " + length);
+        }
+    }
+
+    /** @return the cache file written by loading the installation */
+    private Path cacheFile() throws IOException {
+        var install = new TestInstall(dir.resolve("wlp"));
+        install.feature("a-1.0", "public", "test.b; version=\"[1,2)\", test.c-1.0; type=\"osgi.subsystem.feature\"");
+        install.feature("c-1.0", "private", "");
+        install.bundle("test.b", "1.0.0");
+        loaded();
+        try (var files = Files.list(dir.resolve("cache"))) {
+            return files.collect(Collectors.toUnmodifiableList()).get(0);
+        }
+    }
+
+    private List<String> expected() throws IOException { return describe(new Catalog(dir.resolve("wlp"), true)); }
+
+    private List<String> loaded() throws IOException { return describe(new Catalog(dir.resolve("wlp"), true, dir.resolve("cache"))); }
+
+    private static List<String> describe(Catalog catalog) {
+        var graph = catalog.graph();
+        return graph.elements(catalog.select("*"))
+                .map(e -> e.symbolicName() + " " + e.version() + " -> "
+                        + graph.neighbours(graph.id(e), ElementGraph.Direction.FORWARD).mapToObj(graph::element).map(Element::symbolicName).sorted().collect(Collectors.toUnmodifiableList()))
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
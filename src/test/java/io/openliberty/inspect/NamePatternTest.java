@@ -0,0 +1,92 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/** Checks that {@link NamePattern} agrees with the JDK's {@link PathMatcher} on every glob, well formed or not. */
+class NamePatternTest {
+    // the characters that mean something in a glob, and a few that do not
+    private static final String GLOB_CHARS = "ab-]![\\^*?{},&:.";
+    // element names never contain a '/'
+    private static final String NAME_CHARS = "ab-]![\\^*?{},&:.";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[]aa]", "[]", "[!]", "[a", "[b-a]", "[a-c-e]", "[^-a]", "[--a]", "[a/b]", "[A-\\]", "{a,{b}}", "{a", "a\\"})
+    void rejectsWhatTheJdkRejects(String glob) {
+        assertThrows(IllegalArgumentException.class, () -> jdkMatcher(glob));
+        assertThrows(IllegalArgumentException.class, () -> namePattern(glob));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[\\]b_", "[a-]", "[!-a]", "[^a]", "[a&&b]", "[!-&&]", "[[]", "{a,b}}", "a,b}", "*\\**"})
+    void acceptsWhatTheJdkAccepts(String glob) {
+        jdkMatcher(glob);
+        namePattern(glob);
+    }
+
+    @Test
+    void agreesWithTheJdkOnRandomGlobs() {
+        var random = new Random(42);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 500; i++) names.add(randomString(random, NAME_CHARS, 6));
+        for (int i = 0; i < 20_000; i++) {
+            String glob = randomString(random, GLOB_CHARS, 8);
+            PathMatcher expected;
+            try {
+                expected = jdkMatcher(glob);
+            } catch (IllegalArgumentException e) {
+                assertThrows(IllegalArgumentException.class, () -> namePattern(glob), "glob " + glob);
+                continue;
+            }
+            final NamePattern actual;
+            try {
+                actual = namePattern(glob);
+            } catch (IllegalArgumentException e) {
+                fail("glob " + glob + " is accepted by the JDK but not by NamePattern: " + e.getMessage());
+                return;
+            }
+            for (String name : names) {
+                assertEquals(expected.matches(Paths.get(name)), actual.matches(name), "glob " + glob + " against " + name);
+            }
+        }
+    }
+
+    // name the syntax, so a ':' in the glob is not taken for the end of one
+    private static NamePattern namePattern(String glob) {
+        return NamePattern.compile("glob:" + glob);
+    }
+
+    private static PathMatcher jdkMatcher(String glob) {
+        return FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    }
+
+    private static String randomString(Random random, String chars, int maxLength) {
+        var sb = new StringBuilder();
+        for (int i = random.nextInt(maxLength + 1); i > 0; i--) sb.append(chars.charAt(random.nextInt(chars.length())));
+        return sb.toString();
+    }
+}
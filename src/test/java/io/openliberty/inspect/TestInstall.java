@@ -0,0 +1,57 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/** A minimal Liberty installation, written to a temporary directory for a test to load into a {@link Catalog}. */
+public final class TestInstall {
+    public final Path root;
+
+    public TestInstall(Path root) throws IOException {
+        this.root = root;
+        for (String dir : new String[]{"dev", "lib/features", "lib/platform"}) Files.createDirectories(root.resolve(dir));
+    }
+
+    /** Write a feature manifest named after the feature, e.g. <code>lib/features/a-1.0.mf</code> */
+    public Path feature(String name, String visibility, String content) throws IOException {
+        Path file = root.resolve("lib/features/" + name + ".mf");
+        Files.writeString(file, "Manifest-Version: 1.0\n"
+                + "Subsystem-SymbolicName: test." + name + "; visibility:=" + visibility + "\n"
+                + "Subsystem-Version: 1.0.0\n"
+                + "Subsystem-Type: osgi.subsystem.feature\n"
+                + "IBM-ShortName: " + name + "\n"
+                + (content.isEmpty() ? "" : "Subsystem-Content: " + content + "\n"));
+        return file;
+    }
+
+    /** Write a bundle jar named after its symbolic name and version, e.g. <code>lib/test.b_1.0.0.jar</code> */
+    public Path bundle(String symbolicName, String version) throws IOException {
+        Path file = root.resolve("lib/" + symbolicName + "_" + version + ".jar");
+        var manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attributes.putValue("Bundle-SymbolicName", symbolicName);
+        attributes.putValue("Bundle-Version", version);
+        try (OutputStream out = Files.newOutputStream(file); var jar = new JarOutputStream(out, manifest)) {
+            jar.flush();
+        }
+        return file;
+    }
+}
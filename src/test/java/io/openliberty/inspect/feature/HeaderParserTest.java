@@ -0,0 +1,119 @@
+/*
+ * =============================================================================
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ * =============================================================================
+ */
+package io.openliberty.inspect.feature;
+
+import io.openliberty.inspect.StringPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.openliberty.inspect.feature.Qualifier.TYPE;
+import static io.openliberty.inspect.feature.Qualifier.VERSION;
+import static io.openliberty.inspect.feature.Qualifier.VISIBILITY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Checks how {@link HeaderParser} splits manifest headers into entries, and where it reports malformed ones. */
+class HeaderParserTest {
+    @Test
+    void splitsEntriesAndQualifiers() {
+        var entries = parse("com.ibm.ws.anno; version=\"[1,2)\", test.a-1.0; type=\"osgi.subsystem.feature\"");
+        assertEquals(List.of("com.ibm.ws.anno", "test.a-1.0"), ids(entries));
+        assertEquals("[1,2)", entries.get(0).getQualifier(VERSION));
+        assertNull(entries.get(0).getQualifier(TYPE));
+        assertEquals("osgi.subsystem.feature", entries.get(1).getQualifier(TYPE));
+    }
+
+    @Test
+    void keepsSeparatorsThatAreQuoted() {
+        var entries = parse("a; version=\"x;y,z\"; type=t, b");
+        assertEquals(List.of("a", "b"), ids(entries));
+        assertEquals("x;y,z", entries.get(0).getQualifier(VERSION));
+        assertEquals("t", entries.get(0).getQualifier(TYPE));
+    }
+
+    @Test
+    void keepsSeparatorsThatAreEscaped() {
+        var entries = parse("a\\,b; version=1\\;2, c");
+        // the backslash stays in the text, as only the separator's meaning is escaped
+        assertEquals(List.of("a\\,b", "c"), ids(entries));
+        assertEquals("1\\;2", entries.get(0).getQualifier(VERSION));
+    }
+
+    @Test
+    void readsDirectivesAndAttributes() {
+        var entries = parse("test.a; visibility:=public, test.b ; visibility := \"private\" ; version = 1.0");
+        assertEquals("public", entries.get(0).getQualifier(VISIBILITY));
+        assertEquals("private", entries.get(1).getQualifier(VISIBILITY));
+        assertEquals("1.0", entries.get(1).getQualifier(VERSION));
+    }
+
+    @Test
+    void skipsQualifiersItDoesNotRead() {
+        var entries = parse("a; resolution:=optional; start-phase:=SERVICE_EARLY; type=t");
+        assertEquals("t", entries.get(0).getQualifier(TYPE));
+    }
+
+    @Test
+    void keepsTheLastOfARepeatedQualifier() {
+        assertEquals("2", parse("a; version=1; version=2").get(0).getQualifier(VERSION));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a, b,", "a,, b", ", a, b", "a; , b;", " a ,\tb "})
+    void ignoresEmptyEntriesAndQualifiers(String value) {
+        assertEquals(List.of("a", "b"), ids(parse(value)));
+    }
+
+    @Test
+    void reportsAnUnterminatedQuoteWhereItStarts() {
+        var e = assertThrows(HeaderParseException.class, () -> parse("a; version=\"[1,2), b"));
+        assertEquals("Unterminated quoted string", e.problem());
+        assertEquals(11, e.offset());
+        assertEquals("Subsystem-Content", e.header());
+    }
+
+    @Test
+    void reportsAMissingEqualsSign() {
+        var e = assertThrows(HeaderParseException.class, () -> parse("a; b; type=t"));
+        assertEquals("Expected '=' or ':=' after attribute or directive name", e.problem());
+        assertEquals(3, e.offset());
+    }
+
+    @Test
+    void reportsMissingNames() {
+        assertEquals("Missing name", assertThrows(HeaderParseException.class, () -> parse("a, ; type=t")).problem());
+        assertEquals("Missing attribute or directive name", assertThrows(HeaderParseException.class, () -> parse("a; =t")).problem());
+    }
+
+    @Test
+    void reportsTheFileAProblemWasFoundIn() {
+        var e = assertThrows(HeaderParseException.class, () -> parse("a; \"b")).in(Paths.get("lib/features/a.mf"));
+        assertEquals(Paths.get("lib/features/a.mf"), e.file().orElseThrow());
+        assertTrue(e.getMessage().startsWith("lib/features/a.mf: Unterminated quoted string at offset 3 of Subsystem-Content header"), e.getMessage());
+    }
+
+    private static List<ManifestValueEntry> parse(String value) {
+        return HeaderParser.parse("Subsystem-Content", value, new StringPool());
+    }
+
+    private static List<String> ids(List<ManifestValueEntry> entries) {
+        return entries.stream().map(e -> e.id).collect(Collectors.toUnmodifiableList());
+    }
+}